@@ -0,0 +1,60 @@
+#!/bin/bash
+# Compara os modos de sistema de arquivos do sandbox: overlay (camada gravável
+# do container) e tmpfs (raiz somente leitura, home e /tmp em tmpfs).
+# Mede a latência de cada execução e os setores gravados em disco no host
+# durante cada lote (via /proc/diskstats, após um sync).
+
+set -e
+
+DOCKER="${DOCKER:-docker}"
+IMAGE="${IMAGE:-blockly-shell-env}"
+RUNS="${RUNS:-20}"
+TMPFS_SIZE="${TMPFS_SIZE:-16m}"
+
+# Carga parecida com a de um nível: setup de arquivos, o comando do aluno
+# com a saída em /tmp/last_cmd_out e a verificação lendo o resultado.
+WORKLOAD='{ rm -rf * ; for i in $(seq 1 50); do echo "linha $i" > arquivo_$i.txt ; done ; \
+dd if=/dev/zero of=backup.data bs=1024 count=512 2>/dev/null ; } > /dev/null 2>&1 && \
+{ grep -l linha arquivo_*.txt | sort ; cat backup.data | wc -c ; } > /tmp/last_cmd_out 2>&1 ; \
+cat /tmp/last_cmd_out > /dev/null ; exit 0'
+
+sectors_written() {
+    awk '$3 ~ /^(sd[a-z]+|vd[a-z]+|xvd[a-z]+|nvme[0-9]+n[0-9]+|mmcblk[0-9]+)$/ { total += $10 } END { print total + 0 }' /proc/diskstats
+}
+
+measure() {
+    local label="$1"
+    shift
+    local latencies=()
+
+    sync
+    local sectors_before
+    sectors_before=$(sectors_written)
+
+    for ((i = 1; i <= RUNS; i++)); do
+        local start
+        start=$(date +%s%N)
+        $DOCKER run --rm --net none --memory 64m --cpus 0.25 "$@" "$IMAGE" bash -c "$WORKLOAD"
+        latencies+=($(( ($(date +%s%N) - start) / 1000000 )))
+    done
+
+    sync
+    local written_kb=$(( ($(sectors_written) - sectors_before) / 2 ))
+
+    local sorted
+    sorted=$(printf '%s\n' "${latencies[@]}" | sort -n)
+    local total=0
+    for latency in "${latencies[@]}"; do
+        total=$((total + latency))
+    done
+    local p95_index=$(( (RUNS * 95 + 99) / 100 ))
+    local p95
+    p95=$(echo "$sorted" | sed -n "${p95_index}p")
+
+    echo "$label: média $((total / RUNS)) ms, p95 $p95 ms, $written_kb KiB gravados em disco ($RUNS execuções)"
+}
+
+measure "overlay"
+measure "tmpfs  " --read-only \
+    --tmpfs "/home/aluno:rw,exec,nosuid,nodev,size=$TMPFS_SIZE,uid=1000,gid=1000,mode=0755" \
+    --tmpfs "/tmp:rw,exec,nosuid,nodev,size=$TMPFS_SIZE,mode=1777"
@@ -0,0 +1,52 @@
+#!/bin/bash
+# Mede o tempo até a primeira resposta HTTP do servidor headless,
+# com e sem o arquivo AppCDS gerado por "mvn -B -Pappcds package".
+
+set -e
+
+JAR="${1:-target/shell-blocks.jar}"
+ARCHIVE="${JAR%.jar}.jsa"
+PORT="${PORT:-7000}"
+RUNS="${RUNS:-5}"
+TIMEOUT_SECONDS="${TIMEOUT_SECONDS:-60}"
+
+measure() {
+    local label="$1"
+    shift
+    local total=0
+
+    for ((i = 1; i <= RUNS; i++)); do
+        local start
+        start=$(date +%s%N)
+        java "$@" -jar "$JAR" --headless > /dev/null 2>&1 &
+        local pid=$!
+
+        until curl -sf -o /dev/null "http://localhost:$PORT/api/game-data"; do
+            if ! kill -0 "$pid" 2> /dev/null; then
+                echo "$label: o servidor encerrou antes de responder." >&2
+                exit 1
+            fi
+            if (( ($(date +%s%N) - start) / 1000000000 >= TIMEOUT_SECONDS )); then
+                echo "$label: sem resposta em ${TIMEOUT_SECONDS}s." >&2
+                kill "$pid" 2> /dev/null || true
+                exit 1
+            fi
+            sleep 0.01
+        done
+
+        local elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+        total=$((total + elapsed))
+        kill "$pid"
+        wait "$pid" 2> /dev/null || true
+    done
+
+    echo "$label: média de $((total / RUNS)) ms até a primeira resposta ($RUNS execuções)"
+}
+
+measure "Sem AppCDS" -Xshare:auto
+
+if [ -f "$ARCHIVE" ]; then
+    measure "Com AppCDS" "-XX:SharedArchiveFile=$ARCHIVE"
+else
+    echo "Arquivo $ARCHIVE não encontrado. Gere-o com: mvn -B -Pappcds package"
+fi
@@ -1,22 +1,67 @@
 package br.edu.ifmg.cli;
 
+import java.awt.GraphicsEnvironment;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.SwingUtilities;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.edu.ifmg.cli.config.AdaptiveTimeoutConfig;
+import br.edu.ifmg.cli.config.AstLimitsConfig;
+import br.edu.ifmg.cli.config.CpusetConfig;
+import br.edu.ifmg.cli.config.RunHistoryConfig;
+import br.edu.ifmg.cli.config.SandboxConfig;
 import br.edu.ifmg.cli.config.ServerConfig;
+import br.edu.ifmg.cli.config.SpeculationConfig;
+import br.edu.ifmg.cli.config.TracingConfig;
+import br.edu.ifmg.cli.config.WorkerConfig;
+import br.edu.ifmg.cli.config.WorkerPoolConfig;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.SandboxFilesystem;
+import br.edu.ifmg.cli.server.RunHistoryReplay;
 import br.edu.ifmg.cli.server.ServerInitializer;
+import br.edu.ifmg.cli.server.TrainingRun;
+import br.edu.ifmg.cli.server.WorkerServerInitializer;
+import br.edu.ifmg.cli.services.CpusetPool;
+import br.edu.ifmg.cli.services.ResourceScheduler;
 import br.edu.ifmg.cli.ui.LauncherWindow;
 
 public class App {
 	private static final Logger logger = LoggerFactory.getLogger(App.class);
 
+	private static final String WORKER_FLAG = "--worker";
+	private static final String HEADLESS_FLAG = "--headless";
+	private static final String TRAINING_RUN_FLAG = "--training-run";
+	private static final String REPLAY_FLAG = "--replay";
+
 	public static void main(String[] args) {
+		List<String> arguments = Arrays.asList(args);
+
+		if (arguments.contains(WORKER_FLAG)) {
+			startWorker(arguments);
+			return;
+		}
+
+		if (arguments.contains(REPLAY_FLAG)) {
+			startReplay(arguments);
+			return;
+		}
+
+		boolean trainingRun = arguments.contains(TRAINING_RUN_FLAG);
+		if (trainingRun || arguments.contains(HEADLESS_FLAG) || GraphicsEnvironment.isHeadless()) {
+			startHeadless(trainingRun);
+			return;
+		}
+
 		SwingUtilities.invokeLater(() -> {
 			LauncherWindow window = new LauncherWindow();
 			window.startLogRedirection();
@@ -26,24 +71,56 @@ public class App {
 	}
 
 	private static void startBackendLogic(LauncherWindow window) {
-		Optional<ServerConfig> optionalConfig = loadConfiguration();
+		Optional<ServerConfig> optionalConfig = loadServerConfig();
+		if (optionalConfig.isEmpty())
+			return;
 
+		ServerConfig config = optionalConfig.get();
+		window.setWebAppUrl("http://localhost:" + config.port());
+
+		if (startServer(config, true))
+			window.enableBrowserButton();
+	}
+
+	private static void startHeadless(boolean trainingRun) {
+		System.setProperty("java.awt.headless", "true");
+
+		Optional<ServerConfig> optionalConfig = loadServerConfig();
 		if (optionalConfig.isEmpty()) {
-			logger.error("[FATAL] Inicialização abortada devido a falha na configuração.");
-			logger.error("[AÇÃO] Verifique se o arquivo \"application.properties\" existe e está correto.");
+			System.exit(1);
 			return;
 		}
 
 		ServerConfig config = optionalConfig.get();
+		boolean started = startServer(config, !trainingRun);
+
+		if (trainingRun) {
+			if (started)
+				new TrainingRun().exercise(config.port());
+			System.exit(started ? 0 : 1);
+		}
+	}
 
+	private static Optional<ServerConfig> loadServerConfig() {
+		Optional<ServerConfig> optionalConfig = loadProperties().flatMap(App::parseServerConfig);
+
+		if (optionalConfig.isEmpty()) {
+			logger.error("[FATAL] Inicialização abortada devido a falha na configuração.");
+			logger.error("[AÇÃO] Verifique se o arquivo \"application.properties\" existe e está correto.");
+		}
+		return optionalConfig;
+	}
+
+	private static boolean startServer(ServerConfig config, boolean prepareDocker) {
 		try {
 			logger.info("Configuração carregada com sucesso.");
 			logger.info("   Porta: {}", config.port());
 			logger.info("   Ambiente DEV (CORS): {}", config.devFrontendUrl());
-			window.setWebAppUrl("http://localhost:" + config.port());
 
-			new ServerInitializer().start(config);
-			window.enableBrowserButton();
+			new ServerInitializer().start(config, prepareDocker);
+			logger.info("Servidor pronto em {} ms desde o início da JVM.",
+					ManagementFactory.getRuntimeMXBean().getUptime());
+			return true;
 
 		} catch (Exception e) {
 			logger.error("[FATAL] Erro na inicialização.");
@@ -52,10 +129,40 @@ public class App {
 			if (e.getCause() != null) {
 				logger.error("Detalhes: {}", e.getCause().getMessage());
 			}
+			return false;
 		}
 	}
 
-	private static Optional<ServerConfig> loadConfiguration() {
+	private static void startWorker(List<String> arguments) {
+		Optional<WorkerConfig> optionalConfig = loadProperties().flatMap(properties -> parseWorkerConfig(properties, arguments));
+
+		if (optionalConfig.isEmpty()) {
+			logger.error("[FATAL] Worker não iniciado devido a falha na configuração.");
+			return;
+		}
+
+		try {
+			new WorkerServerInitializer().start(optionalConfig.get());
+		} catch (Exception e) {
+			logger.error("[FATAL] Erro na inicialização do worker: {}", e.getMessage());
+		}
+	}
+
+	private static void startReplay(List<String> arguments) {
+		Optional<String> segment = argumentValue(arguments, REPLAY_FLAG);
+		Optional<Properties> properties = loadProperties();
+		if (segment.isEmpty() || properties.isEmpty()) {
+			logger.error("[FATAL] Uso: --replay <segmento.runlog> [--level <id>]");
+			System.exit(1);
+			return;
+		}
+
+		boolean replayed = new RunHistoryReplay(parseSandboxConfig(properties.get()))
+				.replay(Path.of(segment.get()), argumentValue(arguments, "--level").orElse(null));
+		System.exit(replayed ? 0 : 1);
+	}
+
+	private static Optional<Properties> loadProperties() {
 		try (InputStream input = App.class.getClassLoader().getResourceAsStream("application.properties")) {
 
 			if (input == null) {
@@ -65,28 +172,171 @@ public class App {
 
 			Properties properties = new Properties();
 			properties.load(input);
+			return Optional.of(properties);
 
-			String portString = properties.getProperty("server.port");
-			String devFrontEndUrl = properties.getProperty("server.dev.frontend-url");
+		} catch (Exception e) {
+			logger.error("Falha de I/O ao ler application.properties: {}", e.getMessage());
+			return Optional.empty();
+		}
+	}
 
-			if (portString == null || portString.isBlank()) {
-				logger.error("Chave \"server.port\" ausente em application.properties.");
-				return Optional.empty();
-			}
-			if (devFrontEndUrl == null || devFrontEndUrl.isBlank()) {
-				logger.error("Chave \"server.dev.frontend-url\" ausente em application.properties.");
-				return Optional.empty();
-			}
+	private static Optional<ServerConfig> parseServerConfig(Properties properties) {
+		String portString = properties.getProperty("server.port");
+		String devFrontEndUrl = properties.getProperty("server.dev.frontend-url");
 
-			int port = Integer.parseInt(portString);
-			return Optional.of(new ServerConfig(port, devFrontEndUrl));
+		if (portString == null || portString.isBlank()) {
+			logger.error("Chave \"server.port\" ausente em application.properties.");
+			return Optional.empty();
+		}
+		if (devFrontEndUrl == null || devFrontEndUrl.isBlank()) {
+			logger.error("Chave \"server.dev.frontend-url\" ausente em application.properties.");
+			return Optional.empty();
+		}
 
-		} catch (NumberFormatException e) {
-			logger.error("\"server.port\" não é um número válido.");
+		try {
+			int port = Integer.parseInt(portString);
+			return Optional.of(new ServerConfig(port, devFrontEndUrl, parseSandboxConfig(properties),
+					parseWorkerPoolConfig(properties), parseAstLimitsConfig(properties),
+					parseAdaptiveTimeoutConfig(properties), parseRunHistoryConfig(properties),
+					parseSpeculationConfig(properties), parseTracingConfig(properties)));
+		} catch (IllegalArgumentException e) {
+			logger.error("Valor inválido em application.properties: {}", e.getMessage());
 			return Optional.empty();
-		} catch (Exception e) {
-			logger.error("Falha de I/O ao ler application.properties: {}", e.getMessage());
+		}
+	}
+
+	private static SandboxConfig parseSandboxConfig(Properties properties) {
+		double cpuBudget = Double.parseDouble(properties.getProperty("sandbox.cpu-budget", "0"));
+		if (cpuBudget <= 0)
+			cpuBudget = Runtime.getRuntime().availableProcessors();
+		int reaperIntervalSeconds = Integer.parseInt(properties.getProperty("sandbox.reaper.interval-seconds", "60"));
+		if (reaperIntervalSeconds <= 0)
+			throw new IllegalArgumentException("sandbox.reaper.interval-seconds deve ser positivo");
+		// Um container só pode ser considerado órfão depois da execução mais
+		// longa possível: a espera por capacidade mais o prazo do perfil heavy.
+		int staleAfterSeconds = Integer.parseInt(properties.getProperty("sandbox.reaper.stale-after-seconds", "60"));
+		int minStaleAfterSeconds = (int) TimeUnit.MILLISECONDS.toSeconds(ResourceProfile.HEAVY.timeoutMillis())
+				+ ResourceScheduler.MAX_WAIT_SECONDS;
+		if (staleAfterSeconds < minStaleAfterSeconds)
+			throw new IllegalArgumentException("sandbox.reaper.stale-after-seconds deve ser pelo menos "
+					+ minStaleAfterSeconds + " para não remover execuções em andamento");
+		return new SandboxConfig((int) Math.round(cpuBudget * 1000),
+				Boolean.parseBoolean(properties.getProperty("sandbox.docker.engine-api", "true")),
+				reaperIntervalSeconds, staleAfterSeconds,
+				SandboxFilesystem.byName(properties.getProperty("sandbox.filesystem", "overlay"))
+						.orElseThrow(() -> new IllegalArgumentException("sandbox.filesystem deve ser overlay ou tmpfs")),
+				parseCpusetConfig(properties));
+	}
+
+	private static CpusetConfig parseCpusetConfig(Properties properties) {
+		return new CpusetConfig(
+				Boolean.parseBoolean(properties.getProperty("sandbox.cpuset.enabled", "false")),
+				CpusetPool.parseCpuList(properties.getProperty("sandbox.cpuset.cpus", "")),
+				Integer.parseInt(properties.getProperty("sandbox.cpuset.cores-per-slot", "1")));
+	}
+
+	private static AstLimitsConfig parseAstLimitsConfig(Properties properties) {
+		return new AstLimitsConfig(
+				Integer.parseInt(properties.getProperty("server.max-request-bytes", "524288")),
+				Integer.parseInt(properties.getProperty("ast.max-nodes", "5000")),
+				Integer.parseInt(properties.getProperty("ast.max-depth", "64")),
+				Integer.parseInt(properties.getProperty("ast.max-literal-bytes", "65536")),
+				Integer.parseInt(properties.getProperty("ast.max-sessions", "2000")));
+	}
+
+	private static AdaptiveTimeoutConfig parseAdaptiveTimeoutConfig(Properties properties) {
+		return new AdaptiveTimeoutConfig(
+				Boolean.parseBoolean(properties.getProperty("sandbox.timeout.adaptive", "true")),
+				Integer.parseInt(properties.getProperty("sandbox.timeout.floor-millis", "2000")),
+				Integer.parseInt(properties.getProperty("sandbox.timeout.ceiling-millis", "0")),
+				Double.parseDouble(properties.getProperty("sandbox.timeout.percentile", "99")),
+				Double.parseDouble(properties.getProperty("sandbox.timeout.multiplier", "3")),
+				Integer.parseInt(properties.getProperty("sandbox.timeout.min-samples", "20")));
+	}
+
+	private static RunHistoryConfig parseRunHistoryConfig(Properties properties) {
+		long maxBytes = Long.parseLong(properties.getProperty("history.max-bytes", "1073741824"));
+		long maxAgeDays = Long.parseLong(properties.getProperty("history.max-age-days", "30"));
+		if (maxBytes < 0 || maxAgeDays < 0)
+			throw new IllegalArgumentException("history.max-bytes e history.max-age-days não podem ser negativos");
+		return new RunHistoryConfig(
+				Boolean.parseBoolean(properties.getProperty("history.enabled", "false")),
+				properties.getProperty("history.directory", "run-history"),
+				Long.parseLong(properties.getProperty("history.segment-bytes", "67108864")),
+				Integer.parseInt(properties.getProperty("history.queue-capacity", "10000")),
+				maxBytes, TimeUnit.DAYS.toMillis(maxAgeDays));
+	}
+
+	private static SpeculationConfig parseSpeculationConfig(Properties properties) {
+		int threads = Integer.parseInt(properties.getProperty("sandbox.speculation.threads", "1"));
+		if (threads <= 0)
+			throw new IllegalArgumentException("sandbox.speculation.threads deve ser positivo");
+		return new SpeculationConfig(
+				Boolean.parseBoolean(properties.getProperty("sandbox.speculation.enabled", "false")), threads);
+	}
+
+	private static TracingConfig parseTracingConfig(Properties properties) {
+		double sampleRate = Double.parseDouble(properties.getProperty("tracing.sample-rate", "1"));
+		if (sampleRate < 0 || sampleRate > 1)
+			throw new IllegalArgumentException("tracing.sample-rate deve estar entre 0 e 1");
+		String traceFile = properties.getProperty("tracing.file", "").strip();
+		return new TracingConfig(Boolean.parseBoolean(properties.getProperty("tracing.enabled", "false")), sampleRate,
+				traceFile.isEmpty() ? null : traceFile);
+	}
+
+	private static WorkerPoolConfig parseWorkerPoolConfig(Properties properties) {
+		List<String> workerUrls = Arrays.stream(properties.getProperty("sandbox.workers", "").split(","))
+				.map(String::strip)
+				.filter(url -> !url.isEmpty())
+				.toList();
+
+		boolean enabled = Boolean.parseBoolean(properties.getProperty("sandbox.workers.enabled", "false"));
+		return new WorkerPoolConfig(
+				enabled,
+				workerUrls,
+				enabled ? requireWorkerToken(properties) : "",
+				Boolean.parseBoolean(properties.getProperty("sandbox.workers.local-fallback", "true")),
+				Integer.parseInt(properties.getProperty("sandbox.workers.health-interval-seconds", "5")));
+	}
+
+	private static Optional<WorkerConfig> parseWorkerConfig(Properties properties, List<String> arguments) {
+		try {
+			int port = Integer.parseInt(argumentValue(arguments, "--port")
+					.orElse(properties.getProperty("worker.port", "7100")));
+			int capacity = Integer.parseInt(argumentValue(arguments, "--capacity")
+					.orElse(properties.getProperty("worker.capacity", "0")));
+			if (capacity <= 0)
+				capacity = Runtime.getRuntime().availableProcessors();
+
+			String registerUrl = argumentValue(arguments, "--register")
+					.orElse(properties.getProperty("worker.register-url"));
+			String advertisedUrl = argumentValue(arguments, "--advertise")
+					.orElse("http://localhost:" + port);
+
+			return Optional.of(new WorkerConfig(port, capacity, requireWorkerToken(properties),
+					registerUrl != null && !registerUrl.isBlank() ? registerUrl : null, advertisedUrl,
+					parseSandboxConfig(properties)));
+		} catch (IllegalArgumentException e) {
+			logger.error("Valor inválido para o worker: {}", e.getMessage());
 			return Optional.empty();
 		}
 	}
+
+	/**
+	 * Workers executam scripts arbitrários e o pool aceita registros por HTTP,
+	 * então nenhum dos dois lados sobe sem um token compartilhado.
+	 */
+	private static String requireWorkerToken(Properties properties) {
+		String token = properties.getProperty("sandbox.workers.token", "").strip();
+		if (token.isEmpty())
+			throw new IllegalArgumentException("sandbox.workers.token é obrigatório para usar workers");
+		return token;
+	}
+
+	private static Optional<String> argumentValue(List<String> arguments, String name) {
+		int index = arguments.indexOf(name);
+		if (index < 0 || index + 1 >= arguments.size())
+			return Optional.empty();
+		return Optional.of(arguments.get(index + 1));
+	}
 }
@@ -0,0 +1,4 @@
+package br.edu.ifmg.cli.config;
+
+public record AdaptiveTimeoutConfig(boolean enabled, int floorMillis, int ceilingMillis, double percentile,
+		double multiplier, int minSamples) {}
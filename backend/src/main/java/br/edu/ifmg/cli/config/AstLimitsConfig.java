@@ -0,0 +1,3 @@
+package br.edu.ifmg.cli.config;
+
+public record AstLimitsConfig(int maxBodyBytes, int maxNodes, int maxDepth, int maxLiteralBytes, int maxSessions) {}
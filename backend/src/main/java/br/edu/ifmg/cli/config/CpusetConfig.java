@@ -0,0 +1,5 @@
+package br.edu.ifmg.cli.config;
+
+import java.util.List;
+
+public record CpusetConfig(boolean enabled, List<Integer> cpus, int coresPerSlot) {}
@@ -0,0 +1,5 @@
+package br.edu.ifmg.cli.config;
+
+/** {@code maxBytes} e {@code maxAgeMillis} iguais a zero desligam a respectiva retenção. */
+public record RunHistoryConfig(boolean enabled, String directory, long segmentBytes, int queueCapacity, long maxBytes,
+		long maxAgeMillis) {}
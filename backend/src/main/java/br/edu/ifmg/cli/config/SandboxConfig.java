@@ -0,0 +1,6 @@
+package br.edu.ifmg.cli.config;
+
+import br.edu.ifmg.cli.models.SandboxFilesystem;
+
+public record SandboxConfig(int cpuBudgetMillis, boolean engineApiEnabled, int reaperIntervalSeconds,
+		int reaperStaleAfterSeconds, SandboxFilesystem filesystem, CpusetConfig cpuset) {}
@@ -1,3 +1,5 @@
 package br.edu.ifmg.cli.config;
 
-public record ServerConfig(int port, String devFrontendUrl) {}
\ No newline at end of file
+public record ServerConfig(int port, String devFrontendUrl, SandboxConfig sandbox, WorkerPoolConfig workerPool,
+		AstLimitsConfig astLimits, AdaptiveTimeoutConfig timeouts, RunHistoryConfig history,
+		SpeculationConfig speculation, TracingConfig tracing) {}
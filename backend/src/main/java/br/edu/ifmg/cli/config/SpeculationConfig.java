@@ -0,0 +1,3 @@
+package br.edu.ifmg.cli.config;
+
+public record SpeculationConfig(boolean enabled, int threads) {}
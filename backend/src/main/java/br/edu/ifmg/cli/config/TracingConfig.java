@@ -0,0 +1,5 @@
+package br.edu.ifmg.cli.config;
+
+import org.jetbrains.annotations.Nullable;
+
+public record TracingConfig(boolean enabled, double sampleRate, @Nullable String traceFile) {}
@@ -0,0 +1,6 @@
+package br.edu.ifmg.cli.config;
+
+import org.jetbrains.annotations.Nullable;
+
+public record WorkerConfig(int port, int capacity, String token, @Nullable String registerUrl, String advertisedUrl,
+		SandboxConfig sandbox) {}
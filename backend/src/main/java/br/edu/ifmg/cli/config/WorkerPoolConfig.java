@@ -0,0 +1,7 @@
+package br.edu.ifmg.cli.config;
+
+import java.util.List;
+
+public record WorkerPoolConfig(boolean enabled, List<String> workerUrls, String token, boolean localFallback,
+		int healthCheckIntervalSeconds) {
+}
@@ -0,0 +1,23 @@
+package br.edu.ifmg.cli.controllers;
+
+import br.edu.ifmg.cli.services.RunAnalytics;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+
+public class AnalyticsController {
+
+	private final RunAnalytics analytics;
+
+	public AnalyticsController(RunAnalytics analytics) {
+		this.analytics = analytics;
+	}
+
+	public void registerRoutes(Javalin app) {
+		app.get("/api/analytics/levels", this::levels);
+	}
+
+	private void levels(Context ctx) {
+		ctx.header("Cache-Control", "no-store");
+		ctx.json(analytics.snapshot());
+	}
+}
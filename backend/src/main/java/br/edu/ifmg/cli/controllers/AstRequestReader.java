@@ -0,0 +1,36 @@
+package br.edu.ifmg.cli.controllers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import br.edu.ifmg.cli.services.AstCostEstimator;
+import br.edu.ifmg.cli.services.RequestTrace;
+import io.javalin.http.Context;
+
+/**
+ * Lê o corpo das requisições que carregam AST sem ultrapassar o limite de
+ * bytes, mesmo sem Content-Length, e recusa aninhamento excessivo antes da
+ * desserialização.
+ */
+public class AstRequestReader {
+
+	private final AstCostEstimator estimator;
+
+	public AstRequestReader(AstCostEstimator estimator) {
+		this.estimator = estimator;
+	}
+
+	public <T> T read(Context ctx, Class<T> type) throws IOException {
+		try (var span = RequestTrace.span("parse")) {
+			estimator.checkBodySize(ctx.contentLength());
+
+			int maxBodyBytes = estimator.getLimits().maxBodyBytes();
+			byte[] body = ctx.bodyInputStream().readNBytes(maxBodyBytes + 1);
+			estimator.checkBodySize(body.length);
+
+			String json = new String(body, StandardCharsets.UTF_8);
+			estimator.checkJsonNesting(json);
+			return ctx.jsonMapper().fromJsonString(json, type);
+		}
+	}
+}
@@ -1,14 +1,25 @@
 package br.edu.ifmg.cli.controllers;
 
-import java.util.Collections;
-import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.Level;
+import br.edu.ifmg.cli.models.ResourceProfile;
 import br.edu.ifmg.cli.models.RunRequest;
+import br.edu.ifmg.cli.services.AdaptiveTimeouts;
+import br.edu.ifmg.cli.services.AstBudgetExceededException;
+import br.edu.ifmg.cli.services.AstCostEstimator;
+import br.edu.ifmg.cli.services.LevelService;
+import br.edu.ifmg.cli.services.RequestTrace;
+import br.edu.ifmg.cli.services.RunAnalytics;
+import br.edu.ifmg.cli.services.RunHistoryLog;
 import br.edu.ifmg.cli.services.SandboxRunner;
 import br.edu.ifmg.cli.services.ScriptGenerator;
+import br.edu.ifmg.cli.services.SpeculativeRunner;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
 
@@ -17,10 +28,26 @@ public class ExecutionController {
 	private static final Logger logger = LoggerFactory.getLogger(ExecutionController.class);
 	private final ScriptGenerator generator;
 	private final SandboxRunner runner;
+	private final LevelService levelService;
+	private final AstCostEstimator estimator;
+	private final AdaptiveTimeouts timeouts;
+	private final @Nullable RunHistoryLog history;
+	private final RunAnalytics analytics;
+	private final @Nullable SpeculativeRunner speculation;
+	private final AstRequestReader requestReader;
 
-	public ExecutionController(ScriptGenerator gen, SandboxRunner run) {
+	public ExecutionController(ScriptGenerator gen, SandboxRunner run, LevelService levelService,
+			AstCostEstimator estimator, AdaptiveTimeouts timeouts, @Nullable RunHistoryLog history,
+			RunAnalytics analytics, @Nullable SpeculativeRunner speculation) {
 		this.generator = gen;
 		this.runner = run;
+		this.levelService = levelService;
+		this.estimator = estimator;
+		this.timeouts = timeouts;
+		this.history = history;
+		this.analytics = analytics;
+		this.speculation = speculation;
+		this.requestReader = new AstRequestReader(estimator);
 	}
 
 	public void registerRoutes(Javalin app) {
@@ -29,28 +56,72 @@ public class ExecutionController {
 
 	private void run(Context ctx) {
 		try {
-			RunRequest request = ctx.bodyAsClass(RunRequest.class);
-			String userScript = generator.generate(request.ast());
+			RunRequest request = requestReader.read(ctx, RunRequest.class);
+			if (request == null || request.ast() == null)
+				throw new IllegalArgumentException("AST ausente");
+			estimator.check(request.ast());
 
-			List<String> setupCmds = Collections.emptyList();
-			String verifyScript = "";
+			long startedAt = System.nanoTime();
+			String userScript;
+			try (var span = RequestTrace.span("generate")) {
+				userScript = generator.generate(request.ast());
+			}
+			long generationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startedAt);
 
-			if (request.level() != null) {
-				if (request.level().setupCommands() != null) {
-					setupCmds = request.level().setupCommands();
-				}
+			Level level = resolveLevel(request.level());
+			String levelId = level != null && level.id() != null && levelService.getLevel(level.id()).isPresent()
+					? level.id()
+					: null;
+			ResourceProfile profile = levelId != null
+					? timeouts.apply(levelId, levelService.getResourceProfile(levelId))
+					: levelService.getDefaultProfile();
 
-				if (request.level().verificationScript() != null) {
-					verifyScript = request.level().verificationScript();
-				}
+			var verification = levelId != null ? levelService.getVerification(levelId).orElse(null) : null;
+			ExecutionResult result;
+			long totalMillis;
+			SpeculativeRunner.SpeculatedRun speculated = claimSpeculation(request, level, levelId, userScript, profile);
+			if (speculated != null) {
+				// A espera pela especulação não é tempo de execução.
+				result = speculated.result();
+				totalMillis = TimeUnit.MICROSECONDS.toMillis(generationMicros) + speculated.executionMillis();
+			} else {
+				result = runner.runLevel(userScript, level, verification, profile);
+				totalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
 			}
+			timeouts.record(levelId, result);
+			analytics.record(levelId, result, totalMillis);
 
-			ExecutionResult result = runner.run(userScript, setupCmds, verifyScript);
+			if (history != null) {
+				history.append(level != null ? level.id() : null, request.ast(), userScript, result, generationMicros,
+						totalMillis);
+			}
 			ctx.json(result);
 
+		} catch (AstBudgetExceededException e) {
+			logger.warn("Execução recusada: {}", e.getMessage());
+			ctx.status(e.isPayloadTooLarge() ? 413 : 422).json(new ExecutionResult("", "Erro: " + e.getMessage(), 1));
 		} catch (Exception e) {
 			logger.error("Erro na execução stateless com instância de Level", e);
 			ctx.status(400).json(new ExecutionResult("", "Erro: " + e.getMessage(), 1));
 		}
 	}
+
+	/**
+	 * Níveis enviados pelo cliente e desconhecidos do servidor nunca são
+	 * especulados, pois podem mudar sem que o script mude.
+	 */
+	private @Nullable SpeculativeRunner.SpeculatedRun claimSpeculation(RunRequest request, @Nullable Level level,
+			@Nullable String levelId, String userScript, ResourceProfile profile) {
+		if (speculation == null || (level != null && levelId == null))
+			return null;
+		try (var span = RequestTrace.span("speculation")) {
+			return speculation.claim(request.sessionId(), levelId, userScript, profile).orElse(null);
+		}
+	}
+
+	private Level resolveLevel(Level requestedLevel) {
+		if (requestedLevel == null || requestedLevel.id() == null)
+			return requestedLevel;
+		return levelService.getLevel(requestedLevel.id()).orElse(requestedLevel);
+	}
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package br.edu.ifmg.cli.controllers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.edu.ifmg.cli.services.AdaptiveTimeouts;
 import br.edu.ifmg.cli.services.LevelService;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
@@ -12,13 +13,20 @@ public class LevelController {
 	private static final Logger logger = LoggerFactory.getLogger(LevelController.class);
 
 	private final LevelService levelService;
+	private final AdaptiveTimeouts timeouts;
 
-	public LevelController(LevelService levelService) {
+	public LevelController(LevelService levelService, AdaptiveTimeouts timeouts) {
 		this.levelService = levelService;
+		this.timeouts = timeouts;
 	}
 
 	public void registerRoutes(Javalin app) {
 		app.get("/api/game-data", this::getGameData);
+		app.get("/api/levels/timeouts", this::getTimeouts);
+	}
+
+	private void getTimeouts(Context ctx) {
+		ctx.json(timeouts.snapshot(levelService::getResourceProfile));
 	}
 
 	private void getGameData(Context ctx) {
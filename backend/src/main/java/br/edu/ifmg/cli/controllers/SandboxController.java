@@ -0,0 +1,33 @@
+package br.edu.ifmg.cli.controllers;
+
+import java.util.Map;
+
+import br.edu.ifmg.cli.services.ContainerReaper;
+import br.edu.ifmg.cli.services.ResourceScheduler;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+
+public class SandboxController {
+
+	private final ContainerReaper reaper;
+	private final ResourceScheduler scheduler;
+
+	public SandboxController(ContainerReaper reaper, ResourceScheduler scheduler) {
+		this.reaper = reaper;
+		this.scheduler = scheduler;
+	}
+
+	public void registerRoutes(Javalin app) {
+		app.get("/api/sandbox/reaper", this::reaperStats);
+		app.get("/api/sandbox/cpusets", this::cpusetStats);
+	}
+
+	private void reaperStats(Context ctx) {
+		ctx.json(reaper.getStats());
+	}
+
+	private void cpusetStats(Context ctx) {
+		scheduler.getCpusetStats().ifPresentOrElse(ctx::json,
+				() -> ctx.status(404).json(Map.of("error", "cpuset desativado")));
+	}
+}
@@ -1,39 +1,138 @@
 package br.edu.ifmg.cli.controllers;
 
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.edu.ifmg.cli.models.AstPatchRequest;
 import br.edu.ifmg.cli.models.GeneratedScript;
+import br.edu.ifmg.cli.models.SessionScript;
 import br.edu.ifmg.cli.models.ast.AstNode;
+import br.edu.ifmg.cli.services.AstBudgetExceededException;
+import br.edu.ifmg.cli.services.AstCostEstimator;
+import br.edu.ifmg.cli.services.AstSessionConflictException;
+import br.edu.ifmg.cli.services.AstSessionLimitException;
+import br.edu.ifmg.cli.services.AstSessionService;
+import br.edu.ifmg.cli.services.RequestTrace;
 import br.edu.ifmg.cli.services.ScriptGenerator;
+import br.edu.ifmg.cli.services.SpeculativeRunner;
 import io.javalin.Javalin;
 import io.javalin.http.Context;
 
 public class ScriptController {
 
 	private static final Logger logger = LoggerFactory.getLogger(ScriptController.class);
+	private static final Pattern SESSION_ID_PATTERN = Pattern.compile("^[A-Za-z0-9-]{8,64}$");
 
 	private final ScriptGenerator generator;
+	private final AstSessionService sessionService;
+	private final AstCostEstimator estimator;
+	private final @Nullable SpeculativeRunner speculation;
+	private final AstRequestReader requestReader;
 
-	public ScriptController(ScriptGenerator generator) {
+	public ScriptController(ScriptGenerator generator, AstSessionService sessionService, AstCostEstimator estimator,
+			@Nullable SpeculativeRunner speculation) {
 		this.generator = generator;
+		this.sessionService = sessionService;
+		this.estimator = estimator;
+		this.speculation = speculation;
+		this.requestReader = new AstRequestReader(estimator);
 	}
 
 	public void registerRoutes(Javalin app) {
 		app.post("/api/generate", this::generateScript);
+		app.post("/api/sessions/{sessionId}/ast", this::resetSession);
+		app.post("/api/sessions/{sessionId}/ast/patches", this::patchSession);
 	}
 
 	private void generateScript(Context ctx) {
 		try {
-			AstNode script = ctx.bodyAsClass(AstNode.class);
+			AstNode script = requestReader.read(ctx, AstNode.class);
+			if (script != null)
+				estimator.check(script);
 
-			String shellScript = generator.generate(script);
+			String shellScript;
+			try (var span = RequestTrace.span("generate")) {
+				shellScript = generator.generate(script);
+			}
 
 			ctx.json(new GeneratedScript(shellScript));
 
+		} catch (AstBudgetExceededException e) {
+			rejectOverBudget(ctx, e);
 		} catch (Exception e) {
 			logger.error("Erro ao processar requisição", e);
 			ctx.status(400).json(new GeneratedScript("ERRO: " + e.getMessage()));
 		}
 	}
-}
\ No newline at end of file
+
+	private void resetSession(Context ctx) {
+		String sessionId = validSessionId(ctx);
+		if (sessionId == null)
+			return;
+
+		try {
+			AstNode root = requestReader.read(ctx, AstNode.class);
+			SessionScript result;
+			try (var span = RequestTrace.span("generate")) {
+				result = sessionService.reset(sessionId, root);
+			}
+			ctx.json(speculate(ctx, sessionId, result));
+		} catch (AstBudgetExceededException e) {
+			rejectOverBudget(ctx, e);
+		} catch (AstSessionLimitException e) {
+			logger.warn("Sessão de AST recusada: {}", e.getMessage());
+			ctx.status(503).json(new GeneratedScript("ERRO: " + e.getMessage()));
+		} catch (Exception e) {
+			logger.error("Erro ao iniciar sessão de AST", e);
+			ctx.status(400).json(new GeneratedScript("ERRO: " + e.getMessage()));
+		}
+	}
+
+	private void patchSession(Context ctx) {
+		String sessionId = validSessionId(ctx);
+		if (sessionId == null)
+			return;
+
+		try {
+			AstPatchRequest request = requestReader.read(ctx, AstPatchRequest.class);
+			if (request == null || request.patches() == null)
+				throw new IllegalArgumentException("Lista de patches ausente");
+
+			SessionScript result;
+			try (var span = RequestTrace.span("generate")) {
+				result = sessionService.patch(sessionId, request);
+			}
+			ctx.json(speculate(ctx, sessionId, result));
+
+		} catch (AstBudgetExceededException e) {
+			rejectOverBudget(ctx, e);
+		} catch (AstSessionConflictException e) {
+			ctx.status(409).json(new GeneratedScript("ERRO: " + e.getMessage()));
+		} catch (Exception e) {
+			logger.warn("Patch de AST rejeitado: {}", e.getMessage());
+			ctx.status(400).json(new GeneratedScript("ERRO: " + e.getMessage()));
+		}
+	}
+
+	private @Nullable String validSessionId(Context ctx) {
+		String sessionId = ctx.pathParam("sessionId");
+		if (SESSION_ID_PATTERN.matcher(sessionId).matches())
+			return sessionId;
+		ctx.status(400).json(new GeneratedScript("ERRO: identificador de sessão inválido"));
+		return null;
+	}
+
+	private SessionScript speculate(Context ctx, String sessionId, SessionScript script) {
+		if (speculation != null)
+			speculation.speculate(sessionId, ctx.queryParam("level"), script.script());
+		return script;
+	}
+
+	private void rejectOverBudget(Context ctx, AstBudgetExceededException e) {
+		logger.warn("AST recusada: {}", e.getMessage());
+		ctx.status(e.isPayloadTooLarge() ? 413 : 422).json(new GeneratedScript("ERRO: " + e.getMessage()));
+	}
+}
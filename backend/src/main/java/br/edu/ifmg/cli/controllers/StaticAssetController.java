@@ -0,0 +1,100 @@
+package br.edu.ifmg.cli.controllers;
+
+import java.util.Locale;
+
+import org.jetbrains.annotations.Nullable;
+
+import br.edu.ifmg.cli.services.StaticBundle;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+import io.javalin.http.NotFoundResponse;
+
+/**
+ * Serve o frontend a partir do {@link StaticBundle} em memória, escolhendo a
+ * variante pelo Accept-Encoding (brotli, depois gzip) e respondendo 304 a um
+ * If-None-Match que bata com a ETag. Deve ser registrado por último: as rotas
+ * da API, registradas antes, têm precedência sobre o curinga.
+ */
+public class StaticAssetController {
+
+	private static final String API_PREFIX = "/api/";
+
+	private final StaticBundle bundle;
+
+	public StaticAssetController(StaticBundle bundle) {
+		this.bundle = bundle;
+	}
+
+	public void registerRoutes(Javalin app) {
+		app.get("/", this::serve);
+		app.get("/*", this::serve);
+		app.head("/", this::serve);
+		app.head("/*", this::serve);
+	}
+
+	private void serve(Context ctx) {
+		// Rotas da API inexistentes recebem o 404 padrão do Javalin (JSON para
+		// clientes JSON), não a resposta em texto dos arquivos estáticos.
+		if (ctx.path().startsWith(API_PREFIX))
+			throw new NotFoundResponse();
+
+		var asset = bundle.find(ctx.path().substring(1));
+		if (asset.isEmpty()) {
+			ctx.status(404).contentType("text/plain; charset=utf-8").result("Not Found");
+			return;
+		}
+
+		String acceptEncoding = ctx.header("Accept-Encoding");
+		StaticBundle.Variant variant = asset.get().identity();
+		String encoding = null;
+		if (asset.get().brotli() != null && accepts(acceptEncoding, "br")) {
+			variant = asset.get().brotli();
+			encoding = "br";
+		} else if (asset.get().gzip() != null && accepts(acceptEncoding, "gzip")) {
+			variant = asset.get().gzip();
+			encoding = "gzip";
+		}
+
+		ctx.header("Cache-Control", asset.get().cacheControl());
+		ctx.header("ETag", variant.etag());
+		if (asset.get().gzip() != null || asset.get().brotli() != null)
+			ctx.header("Vary", "Accept-Encoding");
+
+		if (matchesEtag(ctx.header("If-None-Match"), variant.etag())) {
+			ctx.status(304);
+			return;
+		}
+
+		if (encoding != null)
+			ctx.header("Content-Encoding", encoding);
+		ctx.contentType(asset.get().contentType()).result(variant.body());
+	}
+
+	static boolean accepts(@Nullable String acceptEncoding, String coding) {
+		if (acceptEncoding == null)
+			return false;
+		for (String part : acceptEncoding.split(",")) {
+			String[] tokens = part.split(";");
+			if (!tokens[0].strip().equalsIgnoreCase(coding))
+				continue;
+			for (int i = 1; i < tokens.length; i++) {
+				String parameter = tokens[i].strip().toLowerCase(Locale.ROOT);
+				if (parameter.startsWith("q=") && parameter.substring(2).matches("0(\\.0*)?"))
+					return false;
+			}
+			return true;
+		}
+		return false;
+	}
+
+	static boolean matchesEtag(@Nullable String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null)
+			return false;
+		for (String candidate : ifNoneMatch.split(",")) {
+			String tag = candidate.strip();
+			if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag))
+				return true;
+		}
+		return false;
+	}
+}
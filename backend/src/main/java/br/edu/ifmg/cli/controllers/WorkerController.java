@@ -0,0 +1,90 @@
+package br.edu.ifmg.cli.controllers;
+
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.WorkerHealth;
+import br.edu.ifmg.cli.models.WorkerRunRequest;
+import br.edu.ifmg.cli.services.ContainerExecutor;
+import br.edu.ifmg.cli.services.WorkerPool;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+
+public class WorkerController {
+
+	private static final Logger logger = LoggerFactory.getLogger(WorkerController.class);
+
+	private final ContainerExecutor executor;
+	private final Semaphore slots;
+	private final int capacity;
+	private final String token;
+
+	public WorkerController(ContainerExecutor executor, int capacity, String token) {
+		this.executor = executor;
+		this.capacity = capacity;
+		this.slots = new Semaphore(capacity, true);
+		this.token = token;
+	}
+
+	public void registerRoutes(Javalin app) {
+		app.post(WorkerPool.EXECUTE_PATH, this::execute);
+		app.get(WorkerPool.HEALTH_PATH, this::health);
+	}
+
+	private void execute(Context ctx) {
+		if (!isAuthorized(ctx))
+			return;
+
+		try {
+			WorkerRunRequest request = ctx.bodyAsClass(WorkerRunRequest.class);
+			slots.acquire();
+			try {
+				ctx.json(executor.execute(request.script(), resolveProfile(request.profile())));
+			} finally {
+				slots.release();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			ctx.status(503).json(new ExecutionResult("", "Worker interrompido.", 1));
+		} catch (Exception e) {
+			logger.error("Erro ao executar script recebido pelo worker", e);
+			ctx.status(400).json(new ExecutionResult("", "Erro: " + e.getMessage(), 1));
+		}
+	}
+
+	/**
+	 * Os limites vêm sempre dos perfis deste worker: do pedido só aproveitamos o
+	 * nome do perfil, o sistema de arquivos e um timeout menor que o do perfil
+	 * (o prazo adaptativo do servidor nunca passa do teto do perfil).
+	 */
+	static ResourceProfile resolveProfile(@Nullable ResourceProfile requested) {
+		if (requested == null)
+			return ResourceProfile.STANDARD;
+
+		ResourceProfile profile = ResourceProfile.byName(requested.name()).orElse(ResourceProfile.STANDARD);
+		if (requested.filesystem() != null)
+			profile = profile.withFilesystem(requested.filesystem());
+		if (requested.timeoutMillis() > 0 && requested.timeoutMillis() < profile.timeoutMillis())
+			profile = profile.withTimeoutMillis(requested.timeoutMillis());
+		return profile;
+	}
+
+	private void health(Context ctx) {
+		if (!isAuthorized(ctx))
+			return;
+		ctx.json(new WorkerHealth(capacity - slots.availablePermits(), capacity));
+	}
+
+	private boolean isAuthorized(Context ctx) {
+		if (WorkerPool.isValidToken(token, ctx.header(WorkerPool.TOKEN_HEADER)))
+			return true;
+		ctx.status(401).json(Map.of("error", "Token de worker inválido."));
+		return false;
+	}
+}
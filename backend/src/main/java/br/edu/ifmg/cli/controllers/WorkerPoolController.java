@@ -0,0 +1,55 @@
+package br.edu.ifmg.cli.controllers;
+
+import java.util.Map;
+
+import br.edu.ifmg.cli.models.WorkerRegistration;
+import br.edu.ifmg.cli.services.WorkerPool;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+
+public class WorkerPoolController {
+
+	private final WorkerPool workerPool;
+	private final String token;
+
+	public WorkerPoolController(WorkerPool workerPool, String token) {
+		this.workerPool = workerPool;
+		this.token = token;
+	}
+
+	public void registerRoutes(Javalin app) {
+		app.post("/api/workers/register", this::register);
+		app.get("/api/workers", this::listWorkers);
+	}
+
+	private void register(Context ctx) {
+		if (!isAuthorized(ctx))
+			return;
+
+		try {
+			WorkerRegistration registration = ctx.bodyAsClass(WorkerRegistration.class);
+			if (registration == null || registration.url() == null || registration.url().isBlank()) {
+				ctx.status(400).json(Map.of("error", "URL do worker ausente."));
+				return;
+			}
+			workerPool.register(registration.url());
+			ctx.status(204);
+		} catch (Exception e) {
+			ctx.status(400).json(Map.of("error", "Registro de worker inválido."));
+		}
+	}
+
+	private void listWorkers(Context ctx) {
+		if (!isAuthorized(ctx))
+			return;
+
+		ctx.json(workerPool.getStatus());
+	}
+
+	private boolean isAuthorized(Context ctx) {
+		if (WorkerPool.isValidToken(token, ctx.header(WorkerPool.TOKEN_HEADER)))
+			return true;
+		ctx.status(401).json(Map.of("error", "Token de worker inválido."));
+		return false;
+	}
+}
@@ -0,0 +1,8 @@
+package br.edu.ifmg.cli.models;
+
+import java.util.List;
+
+import br.edu.ifmg.cli.models.ast.AstPatch;
+
+public record AstPatchRequest(long baseVersion, List<AstPatch> patches) {
+}
@@ -0,0 +1,9 @@
+package br.edu.ifmg.cli.models;
+
+import java.util.List;
+
+public record CpusetStats(int slots, int freeSlots, int queued, List<SlotStats> perSlot) {
+
+	public record SlotStats(int slot, String cpus, boolean busy, long runs, long busyMillis, double utilization) {
+	}
+}
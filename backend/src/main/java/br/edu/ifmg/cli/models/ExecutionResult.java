@@ -1,4 +1,10 @@
 package br.edu.ifmg.cli.models;
 
-public record ExecutionResult(String stdout, String stderr, int exitCode) {
+import org.jetbrains.annotations.Nullable;
+
+public record ExecutionResult(String stdout, String stderr, int exitCode, @Nullable ResourceUsage usage) {
+
+	public ExecutionResult(String stdout, String stderr, int exitCode) {
+		this(stdout, stderr, exitCode, null);
+	}
 }
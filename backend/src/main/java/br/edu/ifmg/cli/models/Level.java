@@ -5,5 +5,7 @@ import java.util.List;
 import org.jetbrains.annotations.Nullable;
 
 public record Level(String id, String title, @Nullable String summary, @Nullable String fullGuideHtml,
-		@Nullable List<String> setupCommands, @Nullable String verificationScript, @Nullable String difficulty) {
-}
\ No newline at end of file
+		@Nullable List<String> setupCommands, @Nullable String verificationScript, @Nullable String difficulty,
+		@Nullable List<VerificationRule> verificationRules, @Nullable String resourceProfile,
+		@Nullable String filesystem) {
+}
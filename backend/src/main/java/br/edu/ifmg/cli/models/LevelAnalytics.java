@@ -0,0 +1,12 @@
+package br.edu.ifmg.cli.models;
+
+import java.util.List;
+import java.util.Map;
+
+public record LevelAnalytics(String levelId, long attempts, long passes, double passRate,
+		Map<Integer, Long> exitCodes, long p50Millis, long p90Millis, long p99Millis, long maxMillis,
+		List<LatencyBucket> latency) {
+
+	public record LatencyBucket(long upToMillis, long count) {
+	}
+}
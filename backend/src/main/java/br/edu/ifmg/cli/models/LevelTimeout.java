@@ -0,0 +1,4 @@
+package br.edu.ifmg.cli.models;
+
+public record LevelTimeout(String levelId, long samples, long p50Millis, long p99Millis, int deadlineMillis) {
+}
@@ -0,0 +1,5 @@
+package br.edu.ifmg.cli.models;
+
+public record ReaperStats(long sweeps, long reclaimedTotal, int lastSweepReclaimed, long lastSweepAtMillis,
+		long timeoutKills) {
+}
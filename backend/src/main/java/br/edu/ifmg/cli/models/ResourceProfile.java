@@ -0,0 +1,50 @@
+package br.edu.ifmg.cli.models;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.jetbrains.annotations.Nullable;
+
+public record ResourceProfile(String name, int memoryMb, int cpuMillis, int timeoutMillis,
+		@Nullable SandboxFilesystem filesystem) {
+
+	public static final ResourceProfile LIGHT = new ResourceProfile("light", 64, 250, 5_000, SandboxFilesystem.OVERLAY);
+	public static final ResourceProfile STANDARD = new ResourceProfile("standard", 100, 500, 10_000, SandboxFilesystem.OVERLAY);
+	public static final ResourceProfile HEAVY = new ResourceProfile("heavy", 256, 1000, 15_000, SandboxFilesystem.OVERLAY);
+
+	private static final int MIN_TMPFS_MB = 8;
+
+	private static final Map<String, ResourceProfile> PROFILES = Map.of(
+			LIGHT.name(), LIGHT,
+			STANDARD.name(), STANDARD,
+			HEAVY.name(), HEAVY);
+
+	public static Optional<ResourceProfile> byName(String name) {
+		return Optional.ofNullable(PROFILES.get(name));
+	}
+
+	public ResourceProfile withTimeoutMillis(int newTimeoutMillis) {
+		return new ResourceProfile(name, memoryMb, cpuMillis, newTimeoutMillis, filesystem);
+	}
+
+	public ResourceProfile withFilesystem(SandboxFilesystem newFilesystem) {
+		return new ResourceProfile(name, memoryMb, cpuMillis, timeoutMillis, newFilesystem);
+	}
+
+	public boolean usesTmpfs() {
+		return filesystem == SandboxFilesystem.TMPFS;
+	}
+
+	/**
+	 * Tamanho de cada tmpfs (home e /tmp). As páginas do tmpfs contam no limite
+	 * de memória do container, então o teto acompanha a memória do perfil.
+	 */
+	public int tmpfsSizeMb() {
+		return Math.max(MIN_TMPFS_MB, memoryMb / 4);
+	}
+
+	public String dockerCpus() {
+		return String.format(Locale.ROOT, "%.3f", cpuMillis / 1000.0);
+	}
+}
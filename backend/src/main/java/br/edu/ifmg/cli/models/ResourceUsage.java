@@ -0,0 +1,15 @@
+package br.edu.ifmg.cli.models;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@code wallTimeMillis} é medido no host e inclui criar e iniciar o container;
+ * {@code scriptTimeMillis} é medido dentro dele, só a execução do script.
+ */
+public record ResourceUsage(@Nullable Long cpuTimeMicros, @Nullable Long peakMemoryBytes, long wallTimeMillis,
+		@Nullable Long scriptTimeMillis) {
+
+	public long executionMillis() {
+		return scriptTimeMillis != null ? scriptTimeMillis : wallTimeMillis;
+	}
+}
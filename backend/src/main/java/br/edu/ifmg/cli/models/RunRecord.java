@@ -0,0 +1,7 @@
+package br.edu.ifmg.cli.models;
+
+import org.jetbrains.annotations.Nullable;
+
+public record RunRecord(long timestampMillis, @Nullable String levelId, String astHash, String script, int exitCode,
+		String stdout, String stderr, @Nullable ResourceUsage usage, long generationMicros, long totalMillis) {
+}
@@ -4,5 +4,5 @@ import org.jetbrains.annotations.Nullable;
 
 import br.edu.ifmg.cli.models.ast.AstNode;
 
-public record RunRequest(AstNode ast, @Nullable Level level) {
+public record RunRequest(AstNode ast, @Nullable Level level, @Nullable String sessionId) {
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package br.edu.ifmg.cli.models;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Como o container do sandbox enxerga o disco. {@code OVERLAY} grava na camada
+ * gravável do container; {@code TMPFS} monta a raiz da imagem somente leitura
+ * e coloca a home e o /tmp em tmpfs com tamanho limitado, sem escrita em disco.
+ */
+public enum SandboxFilesystem {
+	OVERLAY,
+	TMPFS;
+
+	public static Optional<SandboxFilesystem> byName(String name) {
+		return Arrays.stream(values())
+				.filter(mode -> mode.name().equals(name.strip().toUpperCase(Locale.ROOT)))
+				.findFirst();
+	}
+}
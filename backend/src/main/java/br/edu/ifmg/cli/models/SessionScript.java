@@ -0,0 +1,4 @@
+package br.edu.ifmg.cli.models;
+
+public record SessionScript(String script, long version) {
+}
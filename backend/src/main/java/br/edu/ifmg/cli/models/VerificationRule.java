@@ -0,0 +1,17 @@
+package br.edu.ifmg.cli.models;
+
+import org.jetbrains.annotations.Nullable;
+
+public record VerificationRule(String type, @Nullable String value, @Nullable String path, @Nullable String message) {
+
+	public static class Types {
+		public static final String OUTPUT_CONTAINS = "outputContains";
+		public static final String OUTPUT_NOT_CONTAINS = "outputNotContains";
+		public static final String OUTPUT_MATCHES = "outputMatches";
+		public static final String WORKING_DIRECTORY_MATCHES = "workingDirectoryMatches";
+		public static final String FILE_EXISTS = "fileExists";
+		public static final String FILE_ABSENT = "fileAbsent";
+		public static final String DIRECTORY_EXISTS = "directoryExists";
+		public static final String FILE_CONTAINS = "fileContains";
+	}
+}
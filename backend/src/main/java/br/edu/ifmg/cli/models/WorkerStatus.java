@@ -0,0 +1,5 @@
+package br.edu.ifmg.cli.models;
+
+public record WorkerStatus(String url, boolean healthy, int inFlight, int capacity, long completedRuns,
+		long failedRuns) {
+}
@@ -0,0 +1,12 @@
+package br.edu.ifmg.cli.models.ast;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+public record AstPatch(String op, List<AstPathSegment> path, @Nullable AstNode node) {
+	public AstPatch {
+		path = path != null ? path : Collections.emptyList();
+	}
+}
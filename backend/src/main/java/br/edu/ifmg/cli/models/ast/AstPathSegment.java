@@ -0,0 +1,4 @@
+package br.edu.ifmg.cli.models.ast;
+
+public record AstPathSegment(String key, int index) {
+}
@@ -25,4 +25,10 @@ public class AstVocabulary {
 		public static final String PLACEMENT_BEFORE = "before";
 		public static final String PLACEMENT_AFTER = "after";
 	}
+
+	public static class PatchOps {
+		public static final String INSERT = "insert";
+		public static final String REMOVE = "remove";
+		public static final String REPLACE = "replace";
+	}
 }
\ No newline at end of file
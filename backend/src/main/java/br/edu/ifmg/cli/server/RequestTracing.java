@@ -0,0 +1,86 @@
+package br.edu.ifmg.cli.server;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.edu.ifmg.cli.config.TracingConfig;
+import br.edu.ifmg.cli.services.RequestTrace;
+import br.edu.ifmg.cli.services.TraceFileWriter;
+import io.javalin.Javalin;
+import io.javalin.http.Context;
+
+/**
+ * Dá a cada requisição um identificador de correlação ({@code X-Request-Id},
+ * reaproveitado se o cliente enviar um válido) e, nas amostradas, devolve os
+ * spans no cabeçalho {@code Server-Timing} e opcionalmente os grava em arquivo.
+ * Só é instalado com {@code tracing.enabled}; desligado, nada é registrado.
+ */
+public class RequestTracing {
+
+	public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+	private static final Logger logger = LoggerFactory.getLogger(RequestTracing.class);
+	private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("^[A-Za-z0-9._-]{1,64}$");
+
+	private final double sampleRate;
+	private final String timingAllowOrigin;
+	private final @Nullable TraceFileWriter traceFile;
+
+	public RequestTracing(TracingConfig config, String timingAllowOrigin) {
+		this.sampleRate = config.sampleRate();
+		this.timingAllowOrigin = timingAllowOrigin;
+		this.traceFile = openTraceFile(config.traceFile());
+	}
+
+	public void install(Javalin app) {
+		RequestTrace.setEnabled(true);
+		app.before(this::begin);
+		app.after(this::finish);
+	}
+
+	private void begin(Context ctx) {
+		String requestId = ctx.header(REQUEST_ID_HEADER);
+		if (requestId == null || !REQUEST_ID_PATTERN.matcher(requestId).matches())
+			requestId = UUID.randomUUID().toString();
+		ctx.header(REQUEST_ID_HEADER, requestId);
+
+		if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+			// Descarta um trace que tenha sobrado na thread de uma requisição anterior.
+			RequestTrace.end();
+			return;
+		}
+		RequestTrace.begin(requestId, ctx.method() + " " + ctx.path());
+	}
+
+	private void finish(Context ctx) {
+		RequestTrace trace = RequestTrace.end();
+		if (trace == null)
+			return;
+
+		ctx.header("Server-Timing", trace.toServerTiming());
+		ctx.header("Timing-Allow-Origin", timingAllowOrigin);
+		if (traceFile != null)
+			traceFile.append(trace, ctx.statusCode());
+	}
+
+	private static @Nullable TraceFileWriter openTraceFile(@Nullable String file) {
+		if (file == null)
+			return null;
+		try {
+			var writer = new TraceFileWriter(Path.of(file));
+			Runtime.getRuntime().addShutdownHook(new Thread(writer::close, "TraceFileShutdown"));
+			logger.info("Traces de requisições em {}", file);
+			return writer;
+		} catch (IOException e) {
+			logger.error("Gravação de traces desativada: {}", e.getMessage());
+			return null;
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package br.edu.ifmg.cli.server;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.edu.ifmg.cli.config.SandboxConfig;
+import br.edu.ifmg.cli.models.RunRecord;
+import br.edu.ifmg.cli.services.DockerService;
+import br.edu.ifmg.cli.services.LevelService;
+import br.edu.ifmg.cli.services.ResourceScheduler;
+import br.edu.ifmg.cli.services.RunHistoryLog;
+import br.edu.ifmg.cli.services.SandboxRunner;
+
+/**
+ * Reexecuta os scripts gravados em um segmento do histórico contra as
+ * definições atuais dos níveis e compara o veredito com o original, por
+ * exemplo para recorrigir envios depois de ajustar a verificação de um nível.
+ */
+public class RunHistoryReplay {
+
+	private static final Logger logger = LoggerFactory.getLogger(RunHistoryReplay.class);
+
+	private final LevelService levelService;
+	private final SandboxRunner runner;
+
+	private long replayed;
+	private long skipped;
+	private long changed;
+
+	public RunHistoryReplay(SandboxConfig sandbox) {
+		this.levelService = new LevelService(sandbox.filesystem());
+		var dockerService = new DockerService(sandbox.engineApiEnabled());
+		dockerService.ensureImageExists();
+		this.runner = new SandboxRunner(dockerService.createExecutor(ResourceScheduler.create(sandbox)));
+	}
+
+	public boolean replay(Path segment, @Nullable String levelFilter) {
+		try {
+			long read = RunHistoryLog.readSegment(segment, record -> {
+				if (levelFilter == null || levelFilter.equals(record.levelId()))
+					replayRecord(record);
+			});
+			logger.info("[Replay] {}: {} registros lidos, {} reexecutados, {} ignorados, {} com veredito diferente.",
+					segment.getFileName(), read, replayed, skipped, changed);
+			return true;
+		} catch (IOException e) {
+			logger.error("[Replay] Falha ao ler {}: {}", segment, e.getMessage());
+			return false;
+		}
+	}
+
+	private void replayRecord(RunRecord record) {
+		var level = record.levelId() != null ? levelService.getLevel(record.levelId()).orElse(null) : null;
+		if (record.levelId() != null && level == null) {
+			skipped++;
+			logger.warn("[Replay] Nível {} não existe mais; registro de {} ignorado.", record.levelId(),
+					record.timestampMillis());
+			return;
+		}
+
+		var verification = level != null ? levelService.getVerification(level.id()).orElse(null) : null;
+		var profile = level != null ? levelService.getResourceProfile(level.id()) : levelService.getDefaultProfile();
+		var result = runner.runLevel(record.script(), level, verification, profile);
+		replayed++;
+
+		boolean passedBefore = record.exitCode() == 0;
+		boolean passedNow = result.exitCode() == 0;
+		if (passedBefore != passedNow)
+			changed++;
+
+		logger.info("[Replay] {} {} ast={} exit {} -> {}{}", record.timestampMillis(),
+				record.levelId() != null ? record.levelId() : "sandbox", record.astHash().substring(0, 12),
+				record.exitCode(), result.exitCode(), passedBefore != passedNow ? " (veredito mudou)" : "");
+	}
+}
@@ -1,24 +1,41 @@
 package br.edu.ifmg.cli.server;
 
-import java.lang.reflect.Type;
+import java.io.IOException;
 
-import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.GsonBuilder;
-
+import br.edu.ifmg.cli.config.RunHistoryConfig;
+import br.edu.ifmg.cli.config.SandboxConfig;
 import br.edu.ifmg.cli.config.ServerConfig;
+import br.edu.ifmg.cli.config.SpeculationConfig;
+import br.edu.ifmg.cli.controllers.AnalyticsController;
 import br.edu.ifmg.cli.controllers.DefinitionController;
 import br.edu.ifmg.cli.controllers.ExecutionController;
 import br.edu.ifmg.cli.controllers.LevelController;
+import br.edu.ifmg.cli.controllers.SandboxController;
 import br.edu.ifmg.cli.controllers.ScriptController;
+import br.edu.ifmg.cli.controllers.StaticAssetController;
+import br.edu.ifmg.cli.controllers.WorkerPoolController;
+import br.edu.ifmg.cli.services.AdaptiveTimeouts;
+import br.edu.ifmg.cli.services.AstCostEstimator;
+import br.edu.ifmg.cli.services.AstSessionService;
+import br.edu.ifmg.cli.services.ContainerExecutor;
+import br.edu.ifmg.cli.services.ContainerReaper;
 import br.edu.ifmg.cli.services.DockerService;
 import br.edu.ifmg.cli.services.LevelService;
+import br.edu.ifmg.cli.services.ManagedContainerExecutor;
+import br.edu.ifmg.cli.services.RenderPlans;
+import br.edu.ifmg.cli.services.ResourceScheduler;
+import br.edu.ifmg.cli.services.RunAnalytics;
+import br.edu.ifmg.cli.services.RunHistoryLog;
 import br.edu.ifmg.cli.services.SandboxRunner;
 import br.edu.ifmg.cli.services.ScriptGenerator;
+import br.edu.ifmg.cli.services.SpeculativeRunner;
+import br.edu.ifmg.cli.services.StaticBundle;
+import br.edu.ifmg.cli.services.WorkerPool;
 import io.javalin.Javalin;
-import io.javalin.http.staticfiles.Location;
+import io.javalin.compression.CompressionStrategy;
 import io.javalin.json.JsonMapper;
 
 public class ServerInitializer {
@@ -27,31 +44,24 @@ public class ServerInitializer {
 	private static final Logger logger = LoggerFactory.getLogger(ServerInitializer.class);
 
 	public void start(ServerConfig config) {
-		var jsonMapper = createJsonMapper();
-		Javalin app = createJavalinApp(config, jsonMapper);
-		String dockerPrefix = prepareDockerEnvironment();
-		registerControllers(app, dockerPrefix);
-		startServer(app, config.port());
+		start(config, true);
 	}
 
-	private JsonMapper createJsonMapper() {
-		var gson = new GsonBuilder().create();
-		return new JsonMapper() {
-			@Override
-			public String toJsonString(@NotNull Object obj, @NotNull Type type) {
-				return gson.toJson(obj, type);
-			}
-
-			@Override
-			public <T> T fromJsonString(@NotNull String json, @NotNull Type targetType) {
-				return gson.fromJson(json, targetType);
-			}
-		};
+	public void start(ServerConfig config, boolean prepareDocker) {
+		var jsonMapper = new GsonJsonMapper();
+		Javalin app = createJavalinApp(config, jsonMapper);
+		var dockerService = new DockerService(config.sandbox().engineApiEnabled());
+		if (prepareDocker)
+			dockerService.ensureImageExists();
+		if (config.tracing().enabled())
+			new RequestTracing(config.tracing(), config.devFrontendUrl()).install(app);
+		registerControllers(app, dockerService, config, prepareDocker);
+		new StaticAssetController(StaticBundle.loadFromClasspath(PUBLIC_FOLDER)).registerRoutes(app);
+		startServer(app, config.port());
 	}
 
 	private Javalin createJavalinApp(ServerConfig config, JsonMapper jsonMapper) {
 		return Javalin.create(javalinConfig -> {
-			javalinConfig.staticFiles.add(PUBLIC_FOLDER, Location.CLASSPATH);
 			javalinConfig.jsonMapper(jsonMapper);
 
 			javalinConfig.bundledPlugins.enableCors(cors -> {
@@ -61,22 +71,81 @@ public class ServerInitializer {
 				});
 			});
 			javalinConfig.http.defaultContentType = "application/json";
+			javalinConfig.http.maxRequestSize = config.astLimits().maxBodyBytes();
+			// O StaticBundle já entrega as variantes brotli/gzip pré-comprimidas.
+			javalinConfig.http.compressionStrategy = CompressionStrategy.NONE;
 		});
 	}
 
-	private String prepareDockerEnvironment() {
-		var dockerService = new DockerService();
-		dockerService.ensureImageExists();
-		return dockerService.getCommandPrefix();
+	/**
+	 * Sem {@code prepareDocker} (execução de treino do AppCDS) as rotas são as
+	 * mesmas, mas nada roda em segundo plano nem grava em disco: o coletor de
+	 * containers não é iniciado e o histórico de execuções fica desligado.
+	 */
+	private void registerControllers(Javalin app, DockerService dockerService, ServerConfig config,
+			boolean prepareDocker) {
+		var renderPlans = RenderPlans.load();
+		var scriptGenerator = new ScriptGenerator(renderPlans);
+		var sandboxRunner = new SandboxRunner(createExecutor(app, dockerService, config, prepareDocker));
+		var levelService = new LevelService(config.sandbox().filesystem());
+		var estimator = new AstCostEstimator(config.astLimits());
+		var timeouts = new AdaptiveTimeouts(config.timeouts());
+		var analytics = new RunAnalytics();
+		var speculation = createSpeculativeRunner(config.speculation(), sandboxRunner, levelService, timeouts);
+		new DefinitionController().registerRoutes(app);
+		new AnalyticsController(analytics).registerRoutes(app);
+		new LevelController(levelService, timeouts).registerRoutes(app);
+		new ExecutionController(scriptGenerator, sandboxRunner, levelService, estimator, timeouts,
+				prepareDocker ? openRunHistory(config.history()) : null, analytics, speculation).registerRoutes(app);
+		new ScriptController(scriptGenerator,
+				new AstSessionService(estimator, renderPlans, config.astLimits().maxSessions()), estimator, speculation)
+				.registerRoutes(app);
 	}
 
-	private void registerControllers(Javalin app, String dockerPrefix) {
-		var scriptGenerator = new ScriptGenerator();
-		var sandboxRunner = new SandboxRunner(dockerPrefix);
-		new DefinitionController().registerRoutes(app);
-		new LevelController(new LevelService()).registerRoutes(app);
-		new ExecutionController(scriptGenerator, sandboxRunner).registerRoutes(app);
-		new ScriptController(scriptGenerator).registerRoutes(app);
+	private SpeculativeRunner createSpeculativeRunner(SpeculationConfig speculationConfig, SandboxRunner sandboxRunner,
+			LevelService levelService, AdaptiveTimeouts timeouts) {
+		if (!speculationConfig.enabled())
+			return null;
+		logger.info("Execução especulativa ativa ({} thread(s)).", speculationConfig.threads());
+		return new SpeculativeRunner(speculationConfig, sandboxRunner, levelService, timeouts);
+	}
+
+	private RunHistoryLog openRunHistory(RunHistoryConfig historyConfig) {
+		if (!historyConfig.enabled())
+			return null;
+		try {
+			var history = new RunHistoryLog(historyConfig);
+			Runtime.getRuntime().addShutdownHook(new Thread(history::close, "RunHistoryShutdown"));
+			logger.info("Histórico de execuções em {}", historyConfig.directory());
+			return history;
+		} catch (IOException e) {
+			logger.error("Histórico de execuções desativado: {}", e.getMessage());
+			return null;
+		}
+	}
+
+	private ContainerExecutor createExecutor(Javalin app, DockerService dockerService, ServerConfig config,
+			boolean startReaper) {
+		var scheduler = ResourceScheduler.create(config.sandbox());
+		var localExecutor = dockerService.createExecutor(scheduler);
+		registerReaper(app, localExecutor, scheduler, config.sandbox(), startReaper);
+
+		var workerPoolConfig = config.workerPool();
+		if (!workerPoolConfig.enabled())
+			return localExecutor;
+
+		var workerPool = new WorkerPool(workerPoolConfig, workerPoolConfig.localFallback() ? localExecutor : null);
+		new WorkerPoolController(workerPool, workerPoolConfig.token()).registerRoutes(app);
+		workerPool.start();
+		return workerPool;
+	}
+
+	private void registerReaper(Javalin app, ManagedContainerExecutor executor, ResourceScheduler scheduler,
+			SandboxConfig sandbox, boolean start) {
+		var reaper = new ContainerReaper(executor, sandbox.reaperStaleAfterSeconds(), sandbox.reaperIntervalSeconds());
+		new SandboxController(reaper, scheduler).registerRoutes(app);
+		if (start)
+			reaper.start();
 	}
 
 	private void startServer(Javalin app, int port) {
@@ -84,4 +153,4 @@ public class ServerInitializer {
 		logger.info("Servidor Backend iniciado na porta {}", port);
 		logger.info("Clique em \"Abrir Navegador\" para começar.");
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package br.edu.ifmg.cli.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exercita as rotas principais contra o próprio servidor para que o arquivo
+ * AppCDS gerado ao fim do processo contenha as classes do caminho quente.
+ */
+public class TrainingRun {
+
+	private static final Logger logger = LoggerFactory.getLogger(TrainingRun.class);
+
+	private static final String SAMPLE_AST = """
+			{"type":"script","name":"script","parameters":[{"key":"commands","value":"","children":[
+			{"type":"command","name":"ls","parameters":[
+			{"key":"options","value":"","children":[{"type":"option","name":"l","parameters":[{"key":"flag","value":"-l","children":[]}]}]},
+			{"key":"operands","value":"","children":[{"type":"operand","name":"path","parameters":[{"key":"value","value":"minha pasta","children":[]}]}]}
+			]}]}]}
+			""";
+
+	public void exercise(int port) {
+		var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+		String baseUrl = "http://localhost:" + port;
+		String sessionPath = "/api/sessions/" + UUID.randomUUID() + "/ast";
+
+		send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/")).GET());
+		send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/definitions")).GET());
+		send(client, HttpRequest.newBuilder(URI.create(baseUrl + "/api/game-data")).GET());
+		send(client, post(baseUrl + "/api/generate", SAMPLE_AST));
+		send(client, post(baseUrl + sessionPath, SAMPLE_AST));
+		send(client, post(baseUrl + sessionPath + "/patches", "{\"baseVersion\":1,\"patches\":[]}"));
+	}
+
+	private HttpRequest.Builder post(String url, String body) {
+		return HttpRequest.newBuilder(URI.create(url))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body));
+	}
+
+	private void send(HttpClient client, HttpRequest.Builder builder) {
+		var request = builder.timeout(Duration.ofSeconds(5)).build();
+		try {
+			var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+			logger.info("[TrainingRun] {} {} -> {}", request.method(), request.uri().getPath(), response.statusCode());
+		} catch (Exception e) {
+			logger.warn("[TrainingRun] {} {} falhou: {}", request.method(), request.uri().getPath(), e.getMessage());
+		}
+	}
+}
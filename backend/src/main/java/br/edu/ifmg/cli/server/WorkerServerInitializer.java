@@ -0,0 +1,78 @@
+package br.edu.ifmg.cli.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+
+import br.edu.ifmg.cli.config.WorkerConfig;
+import br.edu.ifmg.cli.controllers.WorkerController;
+import br.edu.ifmg.cli.models.WorkerRegistration;
+import br.edu.ifmg.cli.services.ContainerReaper;
+import br.edu.ifmg.cli.services.DockerService;
+import br.edu.ifmg.cli.services.ResourceScheduler;
+import br.edu.ifmg.cli.services.WorkerPool;
+import io.javalin.Javalin;
+
+public class WorkerServerInitializer {
+
+	private static final Logger logger = LoggerFactory.getLogger(WorkerServerInitializer.class);
+	private static final int REGISTRATION_INTERVAL_SECONDS = 30;
+
+	public void start(WorkerConfig config) {
+		var dockerService = new DockerService(config.sandbox().engineApiEnabled());
+		dockerService.ensureImageExists();
+
+		Javalin app = Javalin.create(javalinConfig -> {
+			javalinConfig.jsonMapper(new GsonJsonMapper());
+			javalinConfig.http.defaultContentType = "application/json";
+		});
+
+		var executor = dockerService.createExecutor(ResourceScheduler.create(config.sandbox()));
+		new WorkerController(executor, config.capacity(), config.token()).registerRoutes(app);
+		new ContainerReaper(executor, config.sandbox().reaperStaleAfterSeconds(),
+				config.sandbox().reaperIntervalSeconds()).start();
+
+		app.start(config.port());
+		logger.info("Worker de sandbox iniciado na porta {} (capacidade {})", config.port(), config.capacity());
+
+		if (config.registerUrl() != null)
+			scheduleRegistration(config);
+	}
+
+	private void scheduleRegistration(WorkerConfig config) {
+		var httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+		String body = new Gson().toJson(new WorkerRegistration(config.advertisedUrl()));
+		var request = HttpRequest.newBuilder(URI.create(config.registerUrl().replaceAll("/+$", "") + "/api/workers/register"))
+				.timeout(Duration.ofSeconds(5))
+				.header("Content-Type", "application/json")
+				.header(WorkerPool.TOKEN_HEADER, config.token())
+				.POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+				.build();
+
+		var scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			var thread = new Thread(runnable, "WorkerRegistration");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		scheduler.scheduleWithFixedDelay(() -> {
+			try {
+				var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+				if (response.statusCode() >= 300)
+					logger.warn("Registro no servidor principal recusado: HTTP {}", response.statusCode());
+			} catch (Exception e) {
+				logger.warn("Servidor principal indisponível para registro: {}", e.getMessage());
+			}
+		}, 0, REGISTRATION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+	}
+}
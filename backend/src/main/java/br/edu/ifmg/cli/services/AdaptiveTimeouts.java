@@ -0,0 +1,77 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import br.edu.ifmg.cli.config.AdaptiveTimeoutConfig;
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.LevelTimeout;
+import br.edu.ifmg.cli.models.ResourceProfile;
+
+/**
+ * Deriva o prazo de cada execução a partir do tempo observado das execuções
+ * concluídas do mesmo nível: percentil configurado vezes uma margem, entre o
+ * piso e o teto. Enquanto o nível tem poucas amostras, vale o teto.
+ */
+public class AdaptiveTimeouts {
+
+	private static final long DECAY_THRESHOLD = 2_000;
+	private static final int TIMEOUT_EXIT_CODE = 124;
+	private static final int SYSTEM_ERROR_EXIT_CODE = 125;
+
+	private final AdaptiveTimeoutConfig config;
+	private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	public AdaptiveTimeouts(AdaptiveTimeoutConfig config) {
+		this.config = config;
+	}
+
+	public ResourceProfile apply(String levelId, ResourceProfile profile) {
+		if (!config.enabled() || levelId == null)
+			return profile;
+		return profile.withTimeoutMillis(deadlineFor(levelId, profile));
+	}
+
+	/**
+	 * Só execuções que terminaram sozinhas entram no histograma, medidas pelo
+	 * tempo do script, sem a criação e o start do container. Estouros (124)
+	 * ficam de fora: numa turma sempre há laços infinitos, e gravá-los no
+	 * prazo em vigor empurraria o percentil para o próprio prazo, que subiria
+	 * a cada estouro até o teto. Um prazo curto demais cresce pelas execuções
+	 * lentas que ainda terminam. Erros do sistema (125) também ficam de fora.
+	 */
+	public void record(String levelId, ExecutionResult result) {
+		if (!config.enabled() || levelId == null || result.usage() == null)
+			return;
+		if (result.exitCode() == TIMEOUT_EXIT_CODE || result.exitCode() == SYSTEM_ERROR_EXIT_CODE)
+			return;
+		histograms.computeIfAbsent(levelId, id -> new LatencyHistogram(DECAY_THRESHOLD))
+				.record(result.usage().executionMillis());
+	}
+
+	public List<LevelTimeout> snapshot(Function<String, ResourceProfile> profiles) {
+		return histograms.entrySet().stream()
+				.map(entry -> new LevelTimeout(entry.getKey(), entry.getValue().getCount(),
+						entry.getValue().percentile(50), entry.getValue().percentile(config.percentile()),
+						deadlineFor(entry.getKey(), profiles.apply(entry.getKey()))))
+				.sorted(Comparator.comparing(LevelTimeout::levelId))
+				.toList();
+	}
+
+	private int deadlineFor(String levelId, ResourceProfile profile) {
+		int ceiling = config.ceilingMillis() > 0
+				? Math.min(config.ceilingMillis(), profile.timeoutMillis())
+				: profile.timeoutMillis();
+		int floor = Math.min(config.floorMillis(), ceiling);
+
+		var histogram = histograms.get(levelId);
+		if (histogram == null || histogram.getCount() < config.minSamples())
+			return ceiling;
+
+		long adaptive = (long) Math.ceil(histogram.percentile(config.percentile()) * config.multiplier());
+		return (int) Math.max(floor, Math.min(ceiling, adaptive));
+	}
+}
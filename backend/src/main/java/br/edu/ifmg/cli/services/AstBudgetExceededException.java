@@ -0,0 +1,17 @@
+package br.edu.ifmg.cli.services;
+
+public class AstBudgetExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final boolean payloadTooLarge;
+
+	public AstBudgetExceededException(String message, boolean payloadTooLarge) {
+		super(message);
+		this.payloadTooLarge = payloadTooLarge;
+	}
+
+	public boolean isPayloadTooLarge() {
+		return payloadTooLarge;
+	}
+}
@@ -0,0 +1,238 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+
+import org.jetbrains.annotations.Nullable;
+
+import br.edu.ifmg.cli.config.AstLimitsConfig;
+import br.edu.ifmg.cli.models.ast.AstNode;
+
+/**
+ * Mede o custo de uma AST (nós, profundidade e bytes de literais) em uma única
+ * passada iterativa, interrompida assim que algum limite é ultrapassado. Roda
+ * antes da geração, cuja recursão depende da profundidade da árvore.
+ */
+public class AstCostEstimator {
+
+	/**
+	 * Cada nível da AST ocupa quatro níveis no JSON: nó, lista de parâmetros,
+	 * parâmetro e lista de filhos. A folga cobre o envelope da requisição.
+	 */
+	private static final int JSON_LEVELS_PER_AST_LEVEL = 4;
+	private static final int JSON_ENVELOPE_LEVELS = 16;
+
+	private final AstLimitsConfig limits;
+
+	public AstCostEstimator(AstLimitsConfig limits) {
+		this.limits = limits;
+	}
+
+	public AstLimitsConfig getLimits() {
+		return limits;
+	}
+
+	public void checkBodySize(long bodyBytes) {
+		if (bodyBytes > limits.maxBodyBytes())
+			throw new AstBudgetExceededException(
+					"Requisição excede o limite de " + limits.maxBodyBytes() + " bytes", true);
+	}
+
+	/**
+	 * Recusa JSON aninhado além do que uma AST dentro do limite de profundidade
+	 * produziria, antes que o desserializador recursivo o percorra.
+	 */
+	public void checkJsonNesting(String json) {
+		int maxNesting = limits.maxDepth() * JSON_LEVELS_PER_AST_LEVEL + JSON_ENVELOPE_LEVELS;
+		int nesting = 0;
+		boolean inString = false;
+
+		for (int i = 0; i < json.length(); i++) {
+			char c = json.charAt(i);
+			if (inString) {
+				if (c == '\\')
+					i++;
+				else if (c == '"')
+					inString = false;
+			} else if (c == '"') {
+				inString = true;
+			} else if (c == '{' || c == '[') {
+				if (++nesting > maxNesting)
+					throw new AstBudgetExceededException(
+							"AST excede a profundidade máxima de " + limits.maxDepth() + " níveis", false);
+			} else if (c == '}' || c == ']') {
+				nesting--;
+			}
+		}
+	}
+
+	public AstCost check(AstNode root) {
+		return enforce(estimate(root));
+	}
+
+	/**
+	 * Versão incremental de {@link #check(AstNode)}: o custo de cada subárvore
+	 * fica memorizado por identidade do nó. Subárvores já em {@code known} não
+	 * são percorridas de novo; as calculadas agora vão para {@code computed},
+	 * que o chamador incorpora a {@code known} só se a árvore for aceita.
+	 */
+	public AstCost check(AstNode root, Map<AstNode, AstCost> known, Map<AstNode, AstCost> computed) {
+		return enforce(subtreeCost(root, known, computed));
+	}
+
+	private AstCost enforce(AstCost cost) {
+		if (cost.nodes() > limits.maxNodes())
+			throw new AstBudgetExceededException("AST excede o limite de " + limits.maxNodes() + " blocos", false);
+		if (cost.depth() > limits.maxDepth())
+			throw new AstBudgetExceededException(
+					"AST excede a profundidade máxima de " + limits.maxDepth() + " níveis", false);
+		if (cost.literalBytes() > limits.maxLiteralBytes())
+			throw new AstBudgetExceededException(
+					"Textos da AST excedem o limite de " + limits.maxLiteralBytes() + " bytes", false);
+		return cost;
+	}
+
+	/**
+	 * Para de contar no primeiro limite ultrapassado; nesse caso o custo
+	 * devolvido é parcial, mas já acima do orçamento.
+	 */
+	public AstCost estimate(@Nullable AstNode root) {
+		if (root == null)
+			return new AstCost(0, 0, 0);
+
+		var pending = new ArrayDeque<PendingNode>();
+		pending.push(new PendingNode(root, 1));
+		int nodes = 0;
+		int depth = 0;
+		long literalBytes = 0;
+
+		while (!pending.isEmpty()) {
+			var current = pending.pop();
+			AstNode node = current.node();
+
+			nodes++;
+			depth = Math.max(depth, current.depth());
+			literalBytes += literalBytes(node);
+			if (nodes > limits.maxNodes() || depth > limits.maxDepth() || literalBytes > limits.maxLiteralBytes())
+				break;
+
+			for (var parameter : node.parameters()) {
+				if (parameter == null)
+					continue;
+				literalBytes += utf8Length(parameter.key()) + utf8Length(parameter.value());
+				for (var child : parameter.children()) {
+					if (child != null)
+						pending.push(new PendingNode(child, current.depth() + 1));
+				}
+			}
+		}
+		return new AstCost(nodes, depth, literalBytes);
+	}
+
+	/**
+	 * Pós-ordem iterativa: um nó só é somado quando todos os filhos já têm
+	 * custo. Para ao passar do limite de nós calculados ou empilhados, com um
+	 * custo parcial já acima do orçamento.
+	 */
+	private AstCost subtreeCost(@Nullable AstNode root, Map<AstNode, AstCost> known,
+			Map<AstNode, AstCost> computed) {
+		if (root == null)
+			return new AstCost(0, 0, 0);
+
+		var pending = new ArrayDeque<AstNode>();
+		pending.push(root);
+		int visited = 0;
+
+		while (!pending.isEmpty()) {
+			AstNode node = pending.peek();
+			if (costOf(node, known, computed) != null) {
+				pending.pop();
+				continue;
+			}
+
+			boolean childrenReady = true;
+			for (var parameter : node.parameters()) {
+				if (parameter == null)
+					continue;
+				for (var child : parameter.children()) {
+					if (child != null && costOf(child, known, computed) == null) {
+						pending.push(child);
+						childrenReady = false;
+					}
+				}
+			}
+			if (pending.size() > limits.maxNodes() || visited > limits.maxNodes())
+				return new AstCost(Math.max(pending.size(), visited), 0, 0);
+			if (!childrenReady)
+				continue;
+
+			pending.pop();
+			visited++;
+			int nodes = 1;
+			int depth = 0;
+			long literalBytes = literalBytes(node);
+			for (var parameter : node.parameters()) {
+				if (parameter == null)
+					continue;
+				literalBytes += utf8Length(parameter.key()) + utf8Length(parameter.value());
+				for (var child : parameter.children()) {
+					if (child == null)
+						continue;
+					AstCost childCost = costOf(child, known, computed);
+					nodes += childCost.nodes();
+					depth = Math.max(depth, childCost.depth());
+					literalBytes += childCost.literalBytes();
+				}
+			}
+			computed.put(node, new AstCost(nodes, depth + 1, literalBytes));
+		}
+		return costOf(root, known, computed);
+	}
+
+	private static @Nullable AstCost costOf(AstNode node, Map<AstNode, AstCost> known,
+			Map<AstNode, AstCost> computed) {
+		AstCost cost = known.get(node);
+		return cost != null ? cost : computed.get(node);
+	}
+
+	private long literalBytes(AstNode node) {
+		long total = utf8Length(node.type()) + utf8Length(node.name());
+		if (node.controlConfig() != null)
+			total += utf8Length(node.controlConfig().syntaxEnd());
+		if (node.controlConfig() != null && node.controlConfig().slots() != null) {
+			for (var slot : node.controlConfig().slots())
+				total += utf8Length(slot.key()) + utf8Length(slot.syntaxPrefix());
+		}
+		if (node.operatorConfig() != null && node.operatorConfig().slots() != null) {
+			for (var slot : node.operatorConfig().slots())
+				total += utf8Length(slot.key()) + utf8Length(slot.symbol()) + utf8Length(slot.symbolPlacement());
+		}
+		return total;
+	}
+
+	private static int utf8Length(@Nullable String value) {
+		if (value == null)
+			return 0;
+		int length = 0;
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c < 0x80) {
+				length++;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c)) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+		return length;
+	}
+
+	public record AstCost(int nodes, int depth, long literalBytes) {
+	}
+
+	private record PendingNode(AstNode node, int depth) {
+	}
+}
@@ -0,0 +1,156 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import br.edu.ifmg.cli.models.SessionScript;
+import br.edu.ifmg.cli.models.ast.AstNode;
+import br.edu.ifmg.cli.models.ast.AstParameter;
+import br.edu.ifmg.cli.models.ast.AstPatch;
+import br.edu.ifmg.cli.models.ast.AstPathSegment;
+import br.edu.ifmg.cli.models.ast.AstVocabulary;
+
+public class AstSession {
+
+	private final Map<AstNode, String> renderCache = new IdentityHashMap<>();
+	private final Map<AstNode, AstCostEstimator.AstCost> costCache = new IdentityHashMap<>();
+	private final ScriptGenerator generator;
+	private final AstCostEstimator estimator;
+
+	private AstNode root;
+	private long version;
+	private volatile long lastAccessMillis = System.currentTimeMillis();
+
+	public AstSession(AstCostEstimator estimator, RenderPlans plans) {
+		this.estimator = estimator;
+		this.generator = new ScriptGenerator(plans, renderCache);
+	}
+
+	public synchronized SessionScript reset(AstNode newRoot) {
+		lastAccessMillis = System.currentTimeMillis();
+		var costs = new IdentityHashMap<AstNode, AstCostEstimator.AstCost>();
+		if (newRoot != null)
+			estimator.check(newRoot, Map.of(), costs);
+		renderCache.clear();
+		costCache.clear();
+		costCache.putAll(costs);
+		String script = generator.generate(newRoot);
+		root = newRoot;
+		version++;
+		return new SessionScript(script, version);
+	}
+
+	public synchronized SessionScript applyPatches(long baseVersion, List<AstPatch> patches) {
+		lastAccessMillis = System.currentTimeMillis();
+		if (root == null || baseVersion != version)
+			throw new AstSessionConflictException("Versão da AST desatualizada: esperado " + version + ", recebido " + baseVersion);
+
+		var discarded = new ArrayList<AstNode>();
+		AstNode patchedRoot = root;
+		for (var patch : patches) {
+			patchedRoot = applyPatch(patchedRoot, patch, discarded);
+		}
+
+		// A árvore resultante é medida inteira (vários patches pequenos não
+		// podem somar uma AST acima do orçamento), mas só o caminho alterado e
+		// os nós inseridos são percorridos; o resto vem de costCache.
+		var costs = new IdentityHashMap<AstNode, AstCostEstimator.AstCost>();
+		estimator.check(patchedRoot, costCache, costs);
+		discarded.forEach(node -> {
+			renderCache.remove(node);
+			costCache.remove(node);
+		});
+		costCache.putAll(costs);
+		String script = generator.generate(patchedRoot);
+		root = patchedRoot;
+		version++;
+		return new SessionScript(script, version);
+	}
+
+	public long getLastAccessMillis() {
+		return lastAccessMillis;
+	}
+
+	private AstNode applyPatch(AstNode currentRoot, AstPatch patch, List<AstNode> discarded) {
+		if (patch.path().isEmpty()) {
+			if (!AstVocabulary.PatchOps.REPLACE.equals(patch.op()) || patch.node() == null)
+				throw new IllegalArgumentException("A raiz da AST só pode ser substituída");
+			collectSubtree(currentRoot, discarded);
+			return patch.node();
+		}
+		return applyAt(currentRoot, patch, 0, discarded);
+	}
+
+	private AstNode applyAt(AstNode node, AstPatch patch, int depth, List<AstNode> discarded) {
+		AstPathSegment segment = patch.path().get(depth);
+		var children = new ArrayList<AstNode>(node.getParameter(segment.key())
+				.map(AstParameter::children)
+				.orElse(List.of()));
+		int index = segment.index();
+		boolean isTarget = depth == patch.path().size() - 1;
+
+		if (!isTarget) {
+			checkIndex(index, children.size(), segment);
+			children.set(index, applyAt(children.get(index), patch, depth + 1, discarded));
+		} else {
+			switch (patch.op()) {
+			case AstVocabulary.PatchOps.INSERT -> {
+				checkIndex(index, children.size() + 1, segment);
+				children.add(index, requireNode(patch));
+			}
+			case AstVocabulary.PatchOps.REMOVE -> {
+				checkIndex(index, children.size(), segment);
+				collectSubtree(children.remove(index), discarded);
+			}
+			case AstVocabulary.PatchOps.REPLACE -> {
+				checkIndex(index, children.size(), segment);
+				collectSubtree(children.set(index, requireNode(patch)), discarded);
+			}
+			default -> throw new IllegalArgumentException("Operação de patch desconhecida: " + patch.op());
+			}
+		}
+
+		discarded.add(node);
+		return withChildren(node, segment.key(), children);
+	}
+
+	private AstNode withChildren(AstNode node, String key, List<AstNode> children) {
+		var parameters = new ArrayList<AstParameter>(node.parameters());
+		int position = -1;
+		for (int i = 0; i < parameters.size(); i++) {
+			if (parameters.get(i).key().equals(key)) {
+				position = i;
+				break;
+			}
+		}
+
+		if (position < 0) {
+			parameters.add(new AstParameter(key, "", List.copyOf(children)));
+		} else {
+			parameters.set(position, new AstParameter(key, parameters.get(position).value(), List.copyOf(children)));
+		}
+		return new AstNode(node.type(), node.name(), parameters, node.controlConfig(), node.operatorConfig());
+	}
+
+	private void collectSubtree(AstNode node, List<AstNode> discarded) {
+		if (node == null)
+			return;
+		discarded.add(node);
+		for (var parameter : node.parameters()) {
+			parameter.children().forEach(child -> collectSubtree(child, discarded));
+		}
+	}
+
+	private AstNode requireNode(AstPatch patch) {
+		if (patch.node() == null)
+			throw new IllegalArgumentException("Patch '" + patch.op() + "' exige um nó");
+		return patch.node();
+	}
+
+	private void checkIndex(int index, int bound, AstPathSegment segment) {
+		if (index < 0 || index >= bound)
+			throw new IllegalArgumentException("Caminho de patch inválido em '" + segment.key() + "'[" + index + "]");
+	}
+}
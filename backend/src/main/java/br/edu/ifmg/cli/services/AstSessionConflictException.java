@@ -0,0 +1,11 @@
+package br.edu.ifmg.cli.services;
+
+/** Patch contra uma sessão desconhecida ou uma versão da AST que não é a atual. */
+public class AstSessionConflictException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public AstSessionConflictException(String message) {
+		super(message);
+	}
+}
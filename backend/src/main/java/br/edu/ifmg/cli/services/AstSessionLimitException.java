@@ -0,0 +1,11 @@
+package br.edu.ifmg.cli.services;
+
+/** Todas as sessões de AST estão em uso recente e nenhuma pode ser descartada. */
+public class AstSessionLimitException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	public AstSessionLimitException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,77 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import br.edu.ifmg.cli.models.AstPatchRequest;
+import br.edu.ifmg.cli.models.SessionScript;
+import br.edu.ifmg.cli.models.ast.AstNode;
+
+/**
+ * Sessões de AST em ordem de uso (LRU). Com o limite atingido, a sessão usada
+ * há mais tempo é descartada, desde que esteja parada há pelo menos
+ * {@link #MIN_IDLE_BEFORE_EVICTION_MILLIS}; o cliente dela recebe 409 no
+ * próximo patch e reenvia a AST inteira.
+ */
+public class AstSessionService {
+
+	private static final long IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(30);
+	private static final long MIN_IDLE_BEFORE_EVICTION_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+	private final Map<String, AstSession> sessions = new LinkedHashMap<>(16, 0.75f, true);
+	private final AstCostEstimator estimator;
+	private final RenderPlans plans;
+	private final int maxSessions;
+
+	public AstSessionService(AstCostEstimator estimator, RenderPlans plans, int maxSessions) {
+		this.estimator = estimator;
+		this.plans = plans;
+		this.maxSessions = maxSessions;
+	}
+
+	public SessionScript reset(String sessionId, AstNode root) {
+		return sessionFor(sessionId).reset(root);
+	}
+
+	public SessionScript patch(String sessionId, AstPatchRequest request) {
+		AstSession session;
+		synchronized (sessions) {
+			session = sessions.get(sessionId);
+		}
+		if (session == null)
+			throw new AstSessionConflictException("Sessão de AST desconhecida: " + sessionId);
+		return session.applyPatches(request.baseVersion(), request.patches());
+	}
+
+	private AstSession sessionFor(String sessionId) {
+		synchronized (sessions) {
+			AstSession session = sessions.get(sessionId);
+			if (session != null)
+				return session;
+
+			long now = System.currentTimeMillis();
+			evictIdleSessions(now);
+			if (sessions.size() >= maxSessions && !evictLeastRecentlyUsed(now))
+				throw new AstSessionLimitException("Limite de " + maxSessions + " sessões de AST atingido");
+
+			session = new AstSession(estimator, plans);
+			sessions.put(sessionId, session);
+			return session;
+		}
+	}
+
+	private void evictIdleSessions(long now) {
+		long threshold = now - IDLE_TIMEOUT_MILLIS;
+		sessions.values().removeIf(session -> session.getLastAccessMillis() < threshold);
+	}
+
+	private boolean evictLeastRecentlyUsed(long now) {
+		Iterator<AstSession> eldest = sessions.values().iterator();
+		if (!eldest.hasNext() || eldest.next().getLastAccessMillis() > now - MIN_IDLE_BEFORE_EVICTION_MILLIS)
+			return false;
+		eldest.remove();
+		return true;
+	}
+}
@@ -0,0 +1,70 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.UUID;
+
+import org.jetbrains.annotations.Nullable;
+
+import br.edu.ifmg.cli.models.ResourceUsage;
+
+/**
+ * Coleta CPU e pico de memória do cgroup do próprio container: um trap de EXIT
+ * lê os contadores (v2, com fallback para v1) usando apenas builtins e os
+ * escreve no stderr original, de onde são removidos na volta. O mesmo trap
+ * mede, com {@code $EPOCHREALTIME}, o tempo do script sem a criação e o
+ * start do container.
+ */
+public class CgroupStats {
+
+	private final String marker = "__stats_" + UUID.randomUUID().toString().replace("-", "") + "__";
+
+	public String wrap(String fullScript) {
+		return "__sb_t0=${EPOCHREALTIME/[.,]/} ; exec 3>&2 ; __sb_stats() { local k v c=0 m=0 e= ; "
+				+ "[ -n \"$__sb_t0\" ] && e=$(( (${EPOCHREALTIME/[.,]/} - __sb_t0) / 1000 )) ; "
+				+ "if [ -r /sys/fs/cgroup/cpu.stat ]; then while read -r k v; do [ \"$k\" = usage_usec ] && c=$v; done < /sys/fs/cgroup/cpu.stat ; "
+				+ "elif [ -r /sys/fs/cgroup/cpuacct/cpuacct.usage ]; then read -r c < /sys/fs/cgroup/cpuacct/cpuacct.usage ; c=$((c / 1000)) ; fi ; "
+				+ "if [ -r /sys/fs/cgroup/memory.peak ]; then read -r m < /sys/fs/cgroup/memory.peak ; "
+				+ "elif [ -r /sys/fs/cgroup/memory/memory.max_usage_in_bytes ]; then read -r m < /sys/fs/cgroup/memory/memory.max_usage_in_bytes ; fi ; "
+				+ "printf '\\n%s %s %s %s\\n' '" + marker + "' \"$c\" \"$m\" \"$e\" >&3 ; } ; trap __sb_stats EXIT ; "
+				+ fullScript;
+	}
+
+	public Extracted extract(String stderr, long wallTimeMillis) {
+		int markerIndex = stderr.lastIndexOf("\n" + marker + " ");
+		if (markerIndex < 0)
+			return new Extracted(stderr, new ResourceUsage(null, null, wallTimeMillis, null));
+
+		int lineEnd = stderr.indexOf('\n', markerIndex + 1);
+		String[] fields = stderr.substring(markerIndex + marker.length() + 2,
+				lineEnd >= 0 ? lineEnd : stderr.length()).trim().split(" ");
+		String cleanStderr = stderr.substring(0, markerIndex) + (lineEnd >= 0 ? stderr.substring(lineEnd + 1) : "");
+
+		return new Extracted(cleanStderr,
+				new ResourceUsage(parseCounter(fields, 0), parseCounter(fields, 1), wallTimeMillis, parseElapsed(fields, 2)));
+	}
+
+	private @Nullable Long parseCounter(String[] fields, int index) {
+		if (index >= fields.length)
+			return null;
+		try {
+			long value = Long.parseLong(fields[index]);
+			return value > 0 ? value : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/** Diferente dos contadores, zero é um tempo válido. */
+	private @Nullable Long parseElapsed(String[] fields, int index) {
+		if (index >= fields.length)
+			return null;
+		try {
+			long value = Long.parseLong(fields[index]);
+			return value >= 0 ? value : null;
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	public record Extracted(String stderr, ResourceUsage usage) {
+	}
+}
@@ -0,0 +1,134 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.Nullable;
+
+import br.edu.ifmg.cli.models.VerificationRule;
+import br.edu.ifmg.cli.models.VerificationRule.Types;
+
+public class CompiledVerification {
+
+	private static final String DEFAULT_FAILURE_MESSAGE = "O objetivo não foi atingido.";
+
+	private final List<Check> checks;
+	private final List<String> probeConditions;
+	private final boolean needsWorkingDirectory;
+
+	private CompiledVerification(List<Check> checks, List<String> probeConditions, boolean needsWorkingDirectory) {
+		this.checks = List.copyOf(checks);
+		this.probeConditions = List.copyOf(probeConditions);
+		this.needsWorkingDirectory = needsWorkingDirectory;
+	}
+
+	public static CompiledVerification compile(List<VerificationRule> rules) {
+		var checks = new ArrayList<Check>();
+		var probeConditions = new ArrayList<String>();
+		boolean needsWorkingDirectory = false;
+
+		for (var rule : rules) {
+			String message = rule.message() != null ? rule.message() : DEFAULT_FAILURE_MESSAGE;
+
+			switch (rule.type()) {
+			case Types.OUTPUT_CONTAINS -> {
+				String text = require(rule, rule.value(), "value");
+				checks.add(new Check(message, (output, probe) -> output.contains(text)));
+			}
+			case Types.OUTPUT_NOT_CONTAINS -> {
+				String text = require(rule, rule.value(), "value");
+				checks.add(new Check(message, (output, probe) -> !output.contains(text)));
+			}
+			case Types.OUTPUT_MATCHES -> {
+				var pattern = Pattern.compile(require(rule, rule.value(), "value"), Pattern.MULTILINE);
+				checks.add(new Check(message, (output, probe) -> pattern.matcher(output).find()));
+			}
+			case Types.WORKING_DIRECTORY_MATCHES -> {
+				var pattern = Pattern.compile(require(rule, rule.value(), "value"));
+				needsWorkingDirectory = true;
+				checks.add(new Check(message,
+						(output, probe) -> probe != null && pattern.matcher(probe.workingDirectory()).find()));
+			}
+			case Types.FILE_EXISTS -> addProbe(checks, probeConditions, message,
+					"[ -f " + shellQuote(require(rule, rule.path(), "path")) + " ]");
+			case Types.FILE_ABSENT -> addProbe(checks, probeConditions, message,
+					"[ ! -e " + shellQuote(require(rule, rule.path(), "path")) + " ]");
+			case Types.DIRECTORY_EXISTS -> addProbe(checks, probeConditions, message,
+					"[ -d " + shellQuote(require(rule, rule.path(), "path")) + " ]");
+			case Types.FILE_CONTAINS -> {
+				String path = shellQuote(require(rule, rule.path(), "path"));
+				String content = shellQuote(require(rule, rule.value(), "value"));
+				addProbe(checks, probeConditions, message,
+						"[ -f " + path + " ] && grep -qF -- " + content + " " + path);
+			}
+			default -> throw new IllegalArgumentException("Tipo de regra de verificação desconhecido: " + rule.type());
+			}
+		}
+
+		return new CompiledVerification(checks, probeConditions, needsWorkingDirectory);
+	}
+
+	public boolean requiresProbe() {
+		return needsWorkingDirectory || !probeConditions.isEmpty();
+	}
+
+	/**
+	 * Script que imprime o diretório atual na primeira linha e, na segunda, um
+	 * dígito (1/0) por condição de sistema de arquivos, na ordem de compilação.
+	 */
+	public String probeScript() {
+		var sb = new StringBuilder("printf '%s\\n' \"$PWD\" ; ");
+		for (String condition : probeConditions) {
+			sb.append("{ ").append(condition).append(" ; } 2>/dev/null && printf 1 || printf 0 ; ");
+		}
+		sb.append("printf '\\n'");
+		return sb.toString();
+	}
+
+	public Optional<String> evaluate(String output, @Nullable String probeOutput) {
+		ProbeResult probe = ProbeResult.parse(probeOutput);
+		for (var check : checks) {
+			if (!check.passes().test(output, probe))
+				return Optional.of(check.message());
+		}
+		return Optional.empty();
+	}
+
+	private static void addProbe(List<Check> checks, List<String> probeConditions, String message, String condition) {
+		int index = probeConditions.size();
+		probeConditions.add(condition);
+		checks.add(new Check(message, (output, probe) -> probe != null && probe.passed(index)));
+	}
+
+	private static String require(VerificationRule rule, @Nullable String field, String fieldName) {
+		if (field == null || field.isEmpty())
+			throw new IllegalArgumentException("Regra '" + rule.type() + "' exige o campo '" + fieldName + "'");
+		return field;
+	}
+
+	private static String shellQuote(String raw) {
+		return "'" + raw.replace("'", "'\\''") + "'";
+	}
+
+	private record Check(String message, BiPredicate<String, ProbeResult> passes) {
+	}
+
+	private record ProbeResult(String workingDirectory, String results) {
+
+		static ProbeResult parse(@Nullable String probeOutput) {
+			if (probeOutput == null)
+				return null;
+			var lines = probeOutput.split("\n", -1);
+			if (lines.length < 2)
+				return null;
+			return new ProbeResult(lines[0], lines[1].strip());
+		}
+
+		boolean passed(int index) {
+			return index < results.length() && results.charAt(index) == '1';
+		}
+	}
+}
@@ -0,0 +1,29 @@
+package br.edu.ifmg.cli.services;
+
+import org.jetbrains.annotations.Nullable;
+
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+
+public interface ContainerExecutor {
+
+	ExecutionResult execute(String fullScript, ResourceProfile profile);
+
+	/**
+	 * Se há folga para trabalho opcional, como execuções especulativas, sem
+	 * atrasar as execuções pedidas pelos alunos.
+	 */
+	default boolean hasIdleCapacity() {
+		return true;
+	}
+
+	/**
+	 * Visão deste executor para trabalho opcional: só usa capacidade ociosa,
+	 * sem esperar, e lança {@link java.util.concurrent.CancellationException}
+	 * quando não há folga ou quando uma execução real toma a capacidade de
+	 * volta. {@code null} se o executor não oferece esse modo.
+	 */
+	default @Nullable ContainerExecutor spareCapacity() {
+		return null;
+	}
+}
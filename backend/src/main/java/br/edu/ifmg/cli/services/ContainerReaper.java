@@ -0,0 +1,86 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.edu.ifmg.cli.models.ReaperStats;
+
+/**
+ * Remove periodicamente containers do sandbox mais antigos que o limite
+ * configurado: sobras de um crash do servidor ou de uma remoção que falhou.
+ * Só considera containers com os labels do sandbox, nunca outros da imagem.
+ * A primeira varredura roda logo na inicialização.
+ */
+public class ContainerReaper {
+
+	private static final Logger logger = LoggerFactory.getLogger(ContainerReaper.class);
+
+	private final ManagedContainerExecutor executor;
+	private final long staleAfterMillis;
+	private final int intervalSeconds;
+
+	private final AtomicLong sweeps = new AtomicLong();
+	private final AtomicLong reclaimedTotal = new AtomicLong();
+	private volatile int lastSweepReclaimed;
+	private volatile long lastSweepAtMillis;
+
+	private ScheduledExecutorService scheduler;
+
+	public ContainerReaper(ManagedContainerExecutor executor, int staleAfterSeconds, int intervalSeconds) {
+		this.executor = executor;
+		this.staleAfterMillis = TimeUnit.SECONDS.toMillis(staleAfterSeconds);
+		this.intervalSeconds = intervalSeconds;
+	}
+
+	public synchronized void start() {
+		if (scheduler != null)
+			return;
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			var thread = new Thread(runnable, "ContainerReaper");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleWithFixedDelay(this::sweep, 0, intervalSeconds, TimeUnit.SECONDS);
+	}
+
+	public int sweep() {
+		long now = System.currentTimeMillis();
+		int reclaimed = 0;
+
+		try {
+			for (var container : executor.listSandboxContainers()) {
+				// Sem o label de início não dá para saber a idade: não é nosso para remover.
+				Long startedAt = container.startedAtMillis();
+				if (startedAt == null || now - startedAt < staleAfterMillis)
+					continue;
+				try {
+					executor.removeContainer(container.id());
+					reclaimed++;
+				} catch (Exception e) {
+					logger.warn("Falha ao remover container órfão {}: {}", container.id(), e.getMessage());
+				}
+			}
+		} catch (Exception e) {
+			logger.debug("Varredura de containers órfãos indisponível: {}", e.getMessage());
+		}
+
+		sweeps.incrementAndGet();
+		reclaimedTotal.addAndGet(reclaimed);
+		lastSweepReclaimed = reclaimed;
+		lastSweepAtMillis = now;
+
+		if (reclaimed > 0)
+			logger.info("{} container(s) órfão(s) do sandbox removido(s).", reclaimed);
+		return reclaimed;
+	}
+
+	public ReaperStats getStats() {
+		return new ReaperStats(sweeps.get(), reclaimedTotal.get(), lastSweepReclaimed, lastSweepAtMillis,
+				executor.getTimeoutKills());
+	}
+}
@@ -0,0 +1,150 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.edu.ifmg.cli.config.CpusetConfig;
+import br.edu.ifmg.cli.models.CpusetStats;
+
+/**
+ * Divide os núcleos do host em slots fixos ({@code --cpuset-cpus}) e entrega
+ * um slot inteiro a cada execução, em vez de uma fração de CPU por cota CFS
+ * espalhada por todos os núcleos. Sem slot livre, a execução espera em fila
+ * justa (FIFO).
+ *
+ * A utilização de cada slot é o tempo ocupado desde a criação do pool; para
+ * uma janela, basta comparar {@code busyMillis} entre duas leituras.
+ */
+public class CpusetPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(CpusetPool.class);
+
+	public record Slot(int index, String cpus) {
+	}
+
+	private final List<Slot> slots;
+	private final BlockingQueue<Slot> free;
+	private final AtomicLongArray busySinceNanos;
+	private final AtomicLongArray busyNanos;
+	private final AtomicLongArray runs;
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final long createdAtNanos = System.nanoTime();
+
+	public CpusetPool(CpusetConfig config) {
+		this(partition(config.cpus(), config.coresPerSlot()));
+	}
+
+	CpusetPool(List<String> cpusPerSlot) {
+		if (cpusPerSlot.isEmpty())
+			throw new IllegalArgumentException("Nenhum slot de CPU disponível para o sandbox");
+
+		this.slots = IntStream.range(0, cpusPerSlot.size())
+				.mapToObj(index -> new Slot(index, cpusPerSlot.get(index)))
+				.toList();
+		this.free = new ArrayBlockingQueue<>(slots.size(), true, slots);
+		this.busySinceNanos = new AtomicLongArray(slots.size());
+		this.busyNanos = new AtomicLongArray(slots.size());
+		this.runs = new AtomicLongArray(slots.size());
+		logger.info("[CpusetPool] {} slot(s): {}", slots.size(),
+				slots.stream().map(Slot::cpus).collect(Collectors.joining(" | ")));
+	}
+
+	/**
+	 * Lê uma lista de CPUs no formato do cgroup ({@code "0-3,6"}). Vazia, usa
+	 * os processadores visíveis para a JVM menos o núcleo 0, que fica com o
+	 * servidor (numa máquina de um núcleo só, não há o que separar).
+	 */
+	public static List<Integer> parseCpuList(@Nullable String list) {
+		if (list == null || list.isBlank()) {
+			int processors = Runtime.getRuntime().availableProcessors();
+			return IntStream.range(processors > 1 ? 1 : 0, processors).boxed().toList();
+		}
+
+		var cpus = new TreeSet<Integer>();
+		for (String part : list.split(",")) {
+			String range = part.strip();
+			int dash = range.indexOf('-');
+			int first = Integer.parseInt(dash < 0 ? range : range.substring(0, dash).strip());
+			int last = dash < 0 ? first : Integer.parseInt(range.substring(dash + 1).strip());
+			if (first < 0 || last < first)
+				throw new IllegalArgumentException("Intervalo de CPUs inválido: " + range);
+			IntStream.rangeClosed(first, last).forEach(cpus::add);
+		}
+		return List.copyOf(cpus);
+	}
+
+	static List<String> partition(List<Integer> cpus, int coresPerSlot) {
+		if (coresPerSlot <= 0)
+			throw new IllegalArgumentException("Núcleos por slot deve ser positivo");
+
+		var slots = new ArrayList<String>();
+		for (int start = 0; start + coresPerSlot <= cpus.size(); start += coresPerSlot) {
+			slots.add(cpus.subList(start, start + coresPerSlot).stream()
+					.map(String::valueOf)
+					.collect(Collectors.joining(",")));
+		}
+		int leftover = cpus.size() % coresPerSlot;
+		if (leftover > 0)
+			logger.warn("[CpusetPool] {} CPU(s) fora dos slots: {} não divide {}.", leftover, coresPerSlot, cpus.size());
+		return slots;
+	}
+
+	public @Nullable Slot acquire(long timeout, TimeUnit unit) throws InterruptedException {
+		Slot slot;
+		waiting.incrementAndGet();
+		try {
+			slot = free.poll(timeout, unit);
+		} finally {
+			waiting.decrementAndGet();
+		}
+
+		if (slot != null) {
+			busySinceNanos.set(slot.index(), System.nanoTime());
+			runs.incrementAndGet(slot.index());
+		}
+		return slot;
+	}
+
+	public void release(Slot slot) {
+		long since = busySinceNanos.getAndSet(slot.index(), 0);
+		if (since != 0)
+			busyNanos.addAndGet(slot.index(), System.nanoTime() - since);
+		free.offer(slot);
+	}
+
+	/** Pelo menos metade dos slots livre. */
+	public boolean hasIdleCapacity() {
+		return free.size() * 2 >= slots.size();
+	}
+
+	/** Se um slot pode ir para trabalho opcional deixando metade dos slots livre. */
+	public boolean hasSpareSlot() {
+		return (free.size() - 1) * 2 >= slots.size();
+	}
+
+	public CpusetStats getStats() {
+		long now = System.nanoTime();
+		double elapsed = Math.max(1, now - createdAtNanos);
+
+		var perSlot = new ArrayList<CpusetStats.SlotStats>(slots.size());
+		for (Slot slot : slots) {
+			long since = busySinceNanos.get(slot.index());
+			long busy = busyNanos.get(slot.index()) + (since != 0 ? now - since : 0);
+			perSlot.add(new CpusetStats.SlotStats(slot.index(), slot.cpus(), since != 0, runs.get(slot.index()),
+					TimeUnit.NANOSECONDS.toMillis(busy), Math.min(1.0, busy / elapsed)));
+		}
+		return new CpusetStats(slots.size(), free.size(), waiting.get(), perSlot);
+	}
+}
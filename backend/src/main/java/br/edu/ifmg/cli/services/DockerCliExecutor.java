@@ -0,0 +1,221 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.ResourceUsage;
+
+public class DockerCliExecutor implements ManagedContainerExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(DockerCliExecutor.class);
+	private static final int CLEANUP_TIMEOUT_SECONDS = 10;
+	private static final long INITIAL_START_OVERHEAD_MILLIS = 1_000;
+
+	private final String dockerPrefix;
+	private final ResourceScheduler scheduler;
+	private final AtomicLong timeoutKills = new AtomicLong();
+	private final AtomicLong startOverheadMillis = new AtomicLong(INITIAL_START_OVERHEAD_MILLIS);
+
+	public DockerCliExecutor(String dockerPrefix, ResourceScheduler scheduler) {
+		this.dockerPrefix = dockerPrefix;
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public ExecutionResult execute(String fullScript, ResourceProfile profile) {
+		ResourceScheduler.Reservation reservation;
+		try {
+			reservation = scheduler.acquire(profile);
+			if (reservation == null)
+				return new ExecutionResult("", "Sandbox ocupado no momento. Tente novamente em instantes.", 1);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new ExecutionResult("", "Execução interrompida.", 1);
+		}
+
+		try {
+			return runContainer(fullScript, profile, reservation.cpuset());
+		} finally {
+			scheduler.release(reservation);
+		}
+	}
+
+	@Override
+	public ContainerExecutor spareCapacity() {
+		return (fullScript, profile) -> {
+			ResourceScheduler.Reservation reservation;
+			try {
+				reservation = scheduler.tryAcquireSpare(profile);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Execução em segundo plano interrompida");
+			}
+			if (reservation == null)
+				throw new CancellationException("Sem folga no sandbox");
+
+			ExecutionResult result;
+			try {
+				result = runContainer(fullScript, profile, reservation.cpuset());
+			} finally {
+				scheduler.release(reservation);
+			}
+			if (Thread.currentThread().isInterrupted())
+				throw new CancellationException("Capacidade devolvida a uma execução real");
+			return result;
+		};
+	}
+
+	private ExecutionResult runContainer(String fullScript, ResourceProfile profile, @Nullable String cpuset) {
+		String containerName = DockerService.newContainerName();
+		try {
+			var stats = new CgroupStats();
+
+			var command = dockerCommand("run", "--rm", "--name", containerName,
+					"--label", DockerService.SANDBOX_LABEL + "=true",
+					"--label", DockerService.STARTED_AT_LABEL + "=" + System.currentTimeMillis(),
+					"--net", "none",
+					"--memory", profile.memoryMb() + "m");
+			if (cpuset != null) {
+				command.add("--cpuset-cpus");
+				command.add(cpuset);
+			} else {
+				command.add("--cpus");
+				command.add(profile.dockerCpus());
+			}
+			if (profile.usesTmpfs()) {
+				command.add("--read-only");
+				DockerService.tmpfsMounts(profile).forEach((path, options) -> {
+					command.add("--tmpfs");
+					command.add(path + ":" + options);
+				});
+			}
+			command.addAll(List.of(DockerService.IMAGE_NAME, "bash", "-c", stats.wrap(fullScript)));
+
+			long startedAt = System.nanoTime();
+			ProcessBuilder pb = new ProcessBuilder(command);
+			Process process;
+			try (var span = RequestTrace.span("start")) {
+				process = pb.start();
+			}
+
+			// O relógio de waitFor inclui o create/start do "docker run", que o
+			// prazo (aprendido do tempo do script) não inclui: soma a média
+			// recente desse custo, em dobro para absorver picos de carga.
+			boolean finished;
+			try (var span = RequestTrace.span("exec")) {
+				finished = process.waitFor(profile.timeoutMillis() + 2 * startOverheadMillis.get(),
+						TimeUnit.MILLISECONDS);
+			}
+			long wallTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+			if (!finished) {
+				// Matar só o cliente deixaria o container rodando: remove pelo nome.
+				timeoutKills.incrementAndGet();
+				process.destroyForcibly();
+				removeQuietly(containerName);
+				return new ExecutionResult("", "⏱️ Tempo esgotado! Seu comando demorou muito.", 124,
+						new ResourceUsage(null, null, wallTimeMillis, null));
+			}
+
+			String stdout = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+			String stderr = new String(process.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
+			int exitCode = process.exitValue();
+
+			var extracted = stats.extract(stderr, wallTimeMillis);
+			observeStartOverhead(extracted.usage());
+			return DockerService.finished(stdout, extracted.stderr(), exitCode, extracted.usage());
+
+		} catch (InterruptedException e) {
+			removeQuietly(containerName);
+			Thread.currentThread().interrupt();
+			return new ExecutionResult("", "Execução interrompida.", 1);
+		} catch (Exception e) {
+			logger.error("Erro interno no DockerCliExecutor", e);
+			removeQuietly(containerName);
+			return new ExecutionResult("", "Erro Interno: " + e.getMessage(), 1);
+		}
+	}
+
+	private void observeStartOverhead(ResourceUsage usage) {
+		if (usage.scriptTimeMillis() == null)
+			return;
+		long sample = Math.max(0, usage.wallTimeMillis() - usage.scriptTimeMillis());
+		startOverheadMillis.updateAndGet(current -> (current * 7 + sample) / 8);
+	}
+
+	@Override
+	public List<SandboxContainer> listSandboxContainers() throws IOException {
+		var output = runDocker(dockerCommand("ps", "-a", "--no-trunc",
+				"--filter", "label=" + DockerService.SANDBOX_LABEL,
+				"--format", "{{.ID}}\t{{.Label \"" + DockerService.STARTED_AT_LABEL + "\"}}"));
+
+		var containers = new ArrayList<SandboxContainer>();
+		for (String line : output.split("\n")) {
+			if (line.isBlank())
+				continue;
+			String[] columns = line.split("\t", 2);
+			containers.add(new SandboxContainer(columns[0].strip(),
+					DockerService.parseStartedAt(columns.length > 1 ? columns[1] : null)));
+		}
+		return containers;
+	}
+
+	@Override
+	public void removeContainer(String containerId) throws IOException {
+		runDocker(dockerCommand("rm", "-f", "-v", containerId));
+	}
+
+	@Override
+	public boolean hasIdleCapacity() {
+		return scheduler.hasIdleCapacity();
+	}
+
+	@Override
+	public long getTimeoutKills() {
+		return timeoutKills.get();
+	}
+
+	private void removeQuietly(String containerName) {
+		try {
+			removeContainer(containerName);
+		} catch (IOException e) {
+			logger.warn("Falha ao remover container {}: {}", containerName, e.getMessage());
+		}
+	}
+
+	private List<String> dockerCommand(String... arguments) {
+		var command = new ArrayList<String>(Arrays.asList(dockerPrefix.split("\\s+")));
+		command.addAll(List.of(arguments));
+		return command;
+	}
+
+	private String runDocker(List<String> command) throws IOException {
+		Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+		String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+		try {
+			if (!process.waitFor(CLEANUP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				process.destroyForcibly();
+				throw new IOException("Docker não respondeu: " + String.join(" ", command));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrompido", e);
+		}
+
+		if (process.exitValue() != 0 && !output.contains("No such container"))
+			throw new IOException(output.strip());
+		return output;
+	}
+}
@@ -0,0 +1,378 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cliente HTTP/1.1 mínimo para a Docker Engine API sobre o socket Unix, com
+ * conexões keep-alive reaproveitadas e leitura do stream multiplexado do attach.
+ */
+public class DockerEngineClient {
+
+	public static final String DEFAULT_SOCKET = "/var/run/docker.sock";
+
+	public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+
+	private static final String API_VERSION = "/v1.41";
+	private static final int MAX_IDLE_CONNECTIONS = 8;
+
+	private final UnixDomainSocketAddress address;
+	private final BlockingQueue<Connection> idleConnections = new LinkedBlockingQueue<>(MAX_IDLE_CONNECTIONS);
+	private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		var thread = new Thread(runnable, "DockerEngineWatchdog");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public DockerEngineClient(Path socketPath) {
+		this.address = UnixDomainSocketAddress.of(socketPath);
+	}
+
+	public static Path resolveSocketPath() {
+		String dockerHost = System.getenv("DOCKER_HOST");
+		if (dockerHost != null && dockerHost.startsWith("unix://"))
+			return Path.of(dockerHost.substring("unix://".length()));
+		return Path.of(DEFAULT_SOCKET);
+	}
+
+	public boolean isSocketAccessible() {
+		Path path = address.getPath();
+		return Files.exists(path) && Files.isReadable(path) && Files.isWritable(path);
+	}
+
+	public EngineResponse request(String method, String path, @Nullable String jsonBody) throws IOException {
+		byte[] body = jsonBody != null ? jsonBody.getBytes(StandardCharsets.UTF_8) : new byte[0];
+		return request(method, path, "application/json", body);
+	}
+
+	public EngineResponse request(String method, String path, String contentType, byte[] body) throws IOException {
+		return request(method, path, contentType, body, DEFAULT_READ_TIMEOUT);
+	}
+
+	/**
+	 * Conexões ociosas fechadas pelo daemon são descartadas antes do envio. Se
+	 * uma conexão reaproveitada falhar depois disso, só um GET é repetido: um
+	 * POST de create/start pode já ter sido aplicado pelo daemon.
+	 */
+	public EngineResponse request(String method, String path, String contentType, byte[] body, Duration timeout)
+			throws IOException {
+		Connection pooled = pollIdleConnection();
+		if (pooled != null) {
+			try {
+				return exchange(pooled, method, path, contentType, body, timeout);
+			} catch (SocketTimeoutException e) {
+				throw e;
+			} catch (IOException e) {
+				if (!"GET".equals(method))
+					throw e;
+			}
+		}
+		return exchange(open(), method, path, contentType, body, timeout);
+	}
+
+	/**
+	 * Abre uma conexão dedicada e faz o upgrade do attach. O stream resultante
+	 * termina quando o container encerra.
+	 */
+	public AttachStream attach(String containerId) throws IOException {
+		Connection connection = open();
+		try {
+			connection.withDeadline(DEFAULT_READ_TIMEOUT, () -> {
+				writeRequest(connection, "POST", "/containers/" + containerId + "/attach?stream=1&stdout=1&stderr=1",
+						Map.of("Connection", "Upgrade", "Upgrade", "tcp"), null, new byte[0]);
+				var head = readHead(connection.input);
+				if (head.status() != 101 && head.status() != 200) {
+					String error = new String(readBody(connection.input, head), StandardCharsets.UTF_8);
+					throw new IOException("Attach recusado: HTTP " + head.status() + " " + error);
+				}
+				return head;
+			});
+			return new AttachStream(connection);
+		} catch (IOException e) {
+			connection.close();
+			throw e;
+		}
+	}
+
+	private Connection open() throws IOException {
+		SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+		try {
+			channel.connect(address);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return new Connection(channel, watchdog);
+	}
+
+	private @Nullable Connection pollIdleConnection() {
+		Connection connection;
+		while ((connection = idleConnections.poll()) != null) {
+			if (connection.isReusable())
+				return connection;
+			connection.close();
+		}
+		return null;
+	}
+
+	private EngineResponse exchange(Connection connection, String method, String path, String contentType,
+			byte[] body, Duration timeout) throws IOException {
+		try {
+			var response = connection.withDeadline(timeout, () -> {
+				writeRequest(connection, method, path, Map.of(), contentType, body);
+				var head = readHead(connection.input);
+				return new RawResponse(head, readBody(connection.input, head));
+			});
+
+			if (response.head().keepAlive() && response.head().hasFramedBody()) {
+				if (!idleConnections.offer(connection))
+					connection.close();
+			} else {
+				connection.close();
+			}
+			return new EngineResponse(response.head().status(), new String(response.body(), StandardCharsets.UTF_8));
+		} catch (IOException e) {
+			connection.close();
+			throw e;
+		}
+	}
+
+	private void writeRequest(Connection connection, String method, String path, Map<String, String> extraHeaders,
+			@Nullable String contentType, byte[] body) throws IOException {
+		var head = new StringBuilder();
+		head.append(method).append(' ').append(API_VERSION).append(path).append(" HTTP/1.1\r\n");
+		head.append("Host: docker\r\n");
+		extraHeaders.forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+		if (contentType != null && body.length > 0)
+			head.append("Content-Type: ").append(contentType).append("\r\n");
+		head.append("Content-Length: ").append(body.length).append("\r\n\r\n");
+
+		connection.output.write(head.toString().getBytes(StandardCharsets.US_ASCII));
+		connection.output.write(body);
+		connection.output.flush();
+	}
+
+	private ResponseHead readHead(InputStream input) throws IOException {
+		String statusLine = readLine(input);
+		String[] statusParts = statusLine.split(" ", 3);
+		if (statusParts.length < 2 || !statusParts[0].startsWith("HTTP/"))
+			throw new IOException("Resposta inválida do daemon: " + statusLine);
+
+		var headers = new HashMap<String, String>();
+		String line;
+		while (!(line = readLine(input)).isEmpty()) {
+			int colon = line.indexOf(':');
+			if (colon > 0)
+				headers.put(line.substring(0, colon).trim().toLowerCase(Locale.ROOT), line.substring(colon + 1).trim());
+		}
+		return new ResponseHead(Integer.parseInt(statusParts[1]), headers);
+	}
+
+	private byte[] readBody(InputStream input, ResponseHead head) throws IOException {
+		if (head.status() == 204 || head.status() == 304 || head.status() == 101)
+			return new byte[0];
+
+		if ("chunked".equalsIgnoreCase(head.headers().get("transfer-encoding"))) {
+			var body = new ByteArrayOutputStream();
+			while (true) {
+				String sizeLine = readLine(input);
+				int semicolon = sizeLine.indexOf(';');
+				int size = Integer.parseInt((semicolon >= 0 ? sizeLine.substring(0, semicolon) : sizeLine).trim(), 16);
+				if (size == 0) {
+					while (!readLine(input).isEmpty()) {
+					}
+					return body.toByteArray();
+				}
+				body.write(readExactly(input, size));
+				readLine(input);
+			}
+		}
+
+		String contentLength = head.headers().get("content-length");
+		if (contentLength != null)
+			return readExactly(input, Integer.parseInt(contentLength));
+
+		return input.readAllBytes();
+	}
+
+	private static byte[] readExactly(InputStream input, int length) throws IOException {
+		byte[] data = input.readNBytes(length);
+		if (data.length < length)
+			throw new EOFException("Resposta truncada do daemon");
+		return data;
+	}
+
+	private static String readLine(InputStream input) throws IOException {
+		var line = new ByteArrayOutputStream();
+		int current;
+		while ((current = input.read()) != -1) {
+			if (current == '\n')
+				break;
+			if (current != '\r')
+				line.write(current);
+		}
+		if (current == -1 && line.size() == 0)
+			throw new EOFException("Conexão encerrada pelo daemon");
+		return line.toString(StandardCharsets.US_ASCII);
+	}
+
+	public record EngineResponse(int status, String body) {
+
+		public boolean isSuccess() {
+			return status >= 200 && status < 300;
+		}
+	}
+
+	private record RawResponse(ResponseHead head, byte[] body) {
+	}
+
+	private record ResponseHead(int status, Map<String, String> headers) {
+
+		boolean keepAlive() {
+			return !"close".equalsIgnoreCase(headers.get("connection"));
+		}
+
+		boolean hasFramedBody() {
+			return status == 204 || status == 304 || headers.containsKey("content-length")
+					|| "chunked".equalsIgnoreCase(headers.get("transfer-encoding"));
+		}
+	}
+
+	@FunctionalInterface
+	private interface IoAction<T> {
+		T run() throws IOException;
+	}
+
+	/**
+	 * Canais de socket Unix não têm SO_TIMEOUT: o prazo de leitura é imposto por
+	 * um watchdog que fecha o canal, destravando a thread bloqueada.
+	 */
+	private static final class Connection {
+		private final SocketChannel channel;
+		private final InputStream input;
+		private final OutputStream output;
+		private final ScheduledExecutorService watchdog;
+		private final AtomicBoolean expired = new AtomicBoolean();
+
+		private Connection(SocketChannel channel, ScheduledExecutorService watchdog) {
+			this.channel = channel;
+			this.input = new BufferedInputStream(Channels.newInputStream(channel));
+			this.output = Channels.newOutputStream(channel);
+			this.watchdog = watchdog;
+		}
+
+		private <T> T withDeadline(Duration timeout, IoAction<T> action) throws IOException {
+			var deadline = watchdog.schedule(() -> {
+				expired.set(true);
+				close();
+			}, timeout.toMillis(), TimeUnit.MILLISECONDS);
+			try {
+				return action.run();
+			} catch (IOException e) {
+				if (expired.get())
+					throw new SocketTimeoutException("Daemon do Docker não respondeu em " + timeout.toMillis() + " ms");
+				throw e;
+			} finally {
+				deadline.cancel(false);
+			}
+		}
+
+		/**
+		 * Leitura não bloqueante antes de reaproveitar: fim de stream ou bytes
+		 * inesperados indicam que o daemon já fechou (ou corrompeu) a conexão.
+		 */
+		private boolean isReusable() {
+			if (expired.get() || !channel.isOpen())
+				return false;
+			try {
+				channel.configureBlocking(false);
+				try {
+					return channel.read(ByteBuffer.allocate(1)) == 0;
+				} finally {
+					channel.configureBlocking(true);
+				}
+			} catch (IOException e) {
+				return false;
+			}
+		}
+
+		private void close() {
+			try {
+				channel.close();
+			} catch (IOException e) {
+			}
+		}
+	}
+
+	/**
+	 * Lê os frames do attach (cabeçalho de 8 bytes: tipo do stream e tamanho)
+	 * separando stdout e stderr, descartando o que exceder o limite informado.
+	 */
+	public static final class AttachStream implements AutoCloseable {
+		private static final int STREAM_STDOUT = 1;
+		private static final int STREAM_STDERR = 2;
+
+		private final Connection connection;
+
+		private AttachStream(Connection connection) {
+			this.connection = connection;
+		}
+
+		/**
+		 * O prazo cobre a execução inteira; quem chama deve encerrar o container
+		 * antes disso, de modo que ele só dispara se o daemon travar.
+		 */
+		public Output readUntilExit(int maxBytesPerStream, Duration timeout) throws IOException {
+			return connection.withDeadline(timeout, () -> {
+				var stdout = new ByteArrayOutputStream();
+				var stderr = new ByteArrayOutputStream();
+				byte[] header = new byte[8];
+
+				while (connection.input.readNBytes(header, 0, 8) == 8) {
+					int size = ((header[4] & 0xFF) << 24) | ((header[5] & 0xFF) << 16) | ((header[6] & 0xFF) << 8)
+							| (header[7] & 0xFF);
+					byte[] payload = readExactly(connection.input, size);
+
+					var target = header[0] == STREAM_STDERR ? stderr : header[0] == STREAM_STDOUT ? stdout : null;
+					if (target != null && target.size() < maxBytesPerStream)
+						target.write(payload, 0, Math.min(payload.length, maxBytesPerStream - target.size()));
+				}
+
+				return new Output(stdout.toString(StandardCharsets.UTF_8), stderr.toString(StandardCharsets.UTF_8));
+			});
+		}
+
+		@Override
+		public void close() {
+			connection.close();
+		}
+
+		public record Output(String stdout, String stderr) {
+		}
+	}
+}
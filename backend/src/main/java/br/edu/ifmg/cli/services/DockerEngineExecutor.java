@@ -0,0 +1,261 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.ResourceUsage;
+
+public class DockerEngineExecutor implements ManagedContainerExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(DockerEngineExecutor.class);
+	private static final int MAX_OUTPUT_BYTES = 1024 * 1024;
+
+	private final DockerEngineClient client;
+	private final ResourceScheduler scheduler;
+	private final AtomicLong timeoutKills = new AtomicLong();
+	private final ScheduledExecutorService killer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		var thread = new Thread(runnable, "ContainerTimeoutKiller");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public DockerEngineExecutor(DockerEngineClient client, ResourceScheduler scheduler) {
+		this.client = client;
+		this.scheduler = scheduler;
+	}
+
+	@Override
+	public ExecutionResult execute(String fullScript, ResourceProfile profile) {
+		ResourceScheduler.Reservation reservation;
+		try {
+			reservation = scheduler.acquire(profile);
+			if (reservation == null)
+				return new ExecutionResult("", "Sandbox ocupado no momento. Tente novamente em instantes.", 1);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return new ExecutionResult("", "Execução interrompida.", 1);
+		}
+
+		try {
+			return runContainer(fullScript, profile, reservation.cpuset());
+		} finally {
+			scheduler.release(reservation);
+		}
+	}
+
+	@Override
+	public ContainerExecutor spareCapacity() {
+		return (fullScript, profile) -> {
+			ResourceScheduler.Reservation reservation;
+			try {
+				reservation = scheduler.tryAcquireSpare(profile);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new CancellationException("Execução em segundo plano interrompida");
+			}
+			if (reservation == null)
+				throw new CancellationException("Sem folga no sandbox");
+
+			ExecutionResult result;
+			try {
+				result = runContainer(fullScript, profile, reservation.cpuset());
+			} finally {
+				scheduler.release(reservation);
+			}
+			if (Thread.currentThread().isInterrupted())
+				throw new CancellationException("Capacidade devolvida a uma execução real");
+			return result;
+		};
+	}
+
+	private ExecutionResult runContainer(String fullScript, ResourceProfile profile, @Nullable String cpuset) {
+		var stats = new CgroupStats();
+		long startedAt = System.nanoTime();
+		String containerId = null;
+
+		try {
+			DockerEngineClient.AttachStream started;
+			try (var span = RequestTrace.span("start")) {
+				containerId = createContainer(stats.wrap(fullScript), profile, cpuset);
+				started = startAttached(containerId);
+			}
+
+			try (var attach = started) {
+				var timedOut = new AtomicBoolean(false);
+				String id = containerId;
+				var killTask = killer.schedule(() -> {
+					timedOut.set(true);
+					timeoutKills.incrementAndGet();
+					killQuietly(id);
+				}, profile.timeoutMillis(), TimeUnit.MILLISECONDS);
+
+				DockerEngineClient.AttachStream.Output output;
+				try (var span = RequestTrace.span("exec")) {
+					output = attach.readUntilExit(MAX_OUTPUT_BYTES,
+							Duration.ofMillis(profile.timeoutMillis()).plus(DockerEngineClient.DEFAULT_READ_TIMEOUT));
+				}
+				killTask.cancel(false);
+				long wallTimeMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+				if (timedOut.get()) {
+					return new ExecutionResult("", "⏱️ Tempo esgotado! Seu comando demorou muito.", 124,
+							new ResourceUsage(null, null, wallTimeMillis, null));
+				}
+
+				int exitCode = waitForExit(containerId);
+				var extracted = stats.extract(output.stderr(), wallTimeMillis);
+				return DockerService.finished(output.stdout(), extracted.stderr(), exitCode, extracted.usage());
+			}
+
+		} catch (Exception e) {
+			if (Thread.currentThread().isInterrupted())
+				return new ExecutionResult("", "Execução interrompida.", 1);
+			logger.error("Erro interno no DockerEngineExecutor", e);
+			return new ExecutionResult("", "\n[ERRO SISTEMA] " + e.getMessage(), 125);
+		} finally {
+			if (containerId != null) {
+				// Uma execução cancelada chega aqui interrompida; a flag fecharia
+				// na hora o canal usado para remover o container.
+				boolean interrupted = Thread.interrupted();
+				removeQuietly(containerId);
+				if (interrupted)
+					Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private String createContainer(String script, ResourceProfile profile, @Nullable String cpuset) throws IOException {
+		var cmd = new JsonArray();
+		cmd.add("bash");
+		cmd.add("-c");
+		cmd.add(script);
+
+		var hostConfig = new JsonObject();
+		hostConfig.addProperty("NetworkMode", "none");
+		hostConfig.addProperty("Memory", profile.memoryMb() * 1024L * 1024L);
+		if (cpuset != null)
+			hostConfig.addProperty("CpusetCpus", cpuset);
+		else
+			hostConfig.addProperty("NanoCpus", profile.cpuMillis() * 1_000_000L);
+		if (profile.usesTmpfs()) {
+			var tmpfs = new JsonObject();
+			DockerService.tmpfsMounts(profile).forEach(tmpfs::addProperty);
+			hostConfig.addProperty("ReadonlyRootfs", true);
+			hostConfig.add("Tmpfs", tmpfs);
+		}
+
+		var labels = new JsonObject();
+		labels.addProperty(DockerService.SANDBOX_LABEL, "true");
+		labels.addProperty(DockerService.STARTED_AT_LABEL, Long.toString(System.currentTimeMillis()));
+
+		var body = new JsonObject();
+		body.addProperty("Image", DockerService.IMAGE_NAME);
+		body.add("Labels", labels);
+		body.add("Cmd", cmd);
+		body.addProperty("AttachStdout", true);
+		body.addProperty("AttachStderr", true);
+		body.addProperty("Tty", false);
+		body.addProperty("NetworkDisabled", true);
+		body.add("HostConfig", hostConfig);
+
+		var response = client.request("POST", "/containers/create?name=" + DockerService.newContainerName(),
+				body.toString());
+		expectSuccess(response, "create");
+		return JsonParser.parseString(response.body()).getAsJsonObject().get("Id").getAsString();
+	}
+
+	@Override
+	public List<SandboxContainer> listSandboxContainers() throws IOException {
+		String filters = "{\"label\":[\"" + DockerService.SANDBOX_LABEL + "\"]}";
+		var response = client.request("GET",
+				"/containers/json?all=true&filters=" + URLEncoder.encode(filters, StandardCharsets.UTF_8), null);
+		expectSuccess(response, "list");
+
+		var containers = new ArrayList<SandboxContainer>();
+		for (var element : JsonParser.parseString(response.body()).getAsJsonArray()) {
+			var container = element.getAsJsonObject();
+			var labels = container.get("Labels");
+			Long startedAt = null;
+			if (labels != null && labels.isJsonObject() && labels.getAsJsonObject().has(DockerService.STARTED_AT_LABEL))
+				startedAt = DockerService.parseStartedAt(labels.getAsJsonObject().get(DockerService.STARTED_AT_LABEL).getAsString());
+			containers.add(new SandboxContainer(container.get("Id").getAsString(), startedAt));
+		}
+		return containers;
+	}
+
+	@Override
+	public void removeContainer(String containerId) throws IOException {
+		var response = client.request("DELETE", "/containers/" + containerId + "?force=true&v=true", null);
+		if (response.status() != 404)
+			expectSuccess(response, "remove");
+	}
+
+	@Override
+	public boolean hasIdleCapacity() {
+		return scheduler.hasIdleCapacity();
+	}
+
+	@Override
+	public long getTimeoutKills() {
+		return timeoutKills.get();
+	}
+
+	/** Conecta ao container antes do start para não perder saída; fecha a conexão se o start falhar. */
+	private DockerEngineClient.AttachStream startAttached(String containerId) throws IOException {
+		var attach = client.attach(containerId);
+		try {
+			expectSuccess(client.request("POST", "/containers/" + containerId + "/start", null), "start");
+			return attach;
+		} catch (IOException | RuntimeException e) {
+			attach.close();
+			throw e;
+		}
+	}
+
+	private int waitForExit(String containerId) throws IOException {
+		var response = client.request("POST", "/containers/" + containerId + "/wait", null);
+		expectSuccess(response, "wait");
+		return JsonParser.parseString(response.body()).getAsJsonObject().get("StatusCode").getAsInt();
+	}
+
+	private void killQuietly(String containerId) {
+		try {
+			client.request("POST", "/containers/" + containerId + "/kill", null);
+		} catch (IOException e) {
+			logger.warn("Falha ao encerrar container {}: {}", containerId, e.getMessage());
+		}
+	}
+
+	private void removeQuietly(String containerId) {
+		try {
+			removeContainer(containerId);
+		} catch (IOException e) {
+			logger.warn("Falha ao remover container {}: {}", containerId, e.getMessage());
+		}
+	}
+
+	private void expectSuccess(DockerEngineClient.EngineResponse response, String operation) throws IOException {
+		if (!response.isSuccess())
+			throw new IOException("Docker " + operation + " falhou: HTTP " + response.status() + " " + response.body());
+	}
+}
@@ -1,34 +1,105 @@
 package br.edu.ifmg.cli.services;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.ResourceUsage;
+
 public class DockerService {
 
 	public static final String IMAGE_NAME = "blockly-shell-env";
 	public static final String DOCKERFILE_RESOURCE = "/docker/Dockerfile";
+	public static final String SANDBOX_LABEL = "br.edu.ifmg.cli.sandbox";
+	public static final String STARTED_AT_LABEL = "br.edu.ifmg.cli.sandbox.started-at";
+	public static final String CONTAINER_NAME_PREFIX = "blockly-sandbox-";
+	public static final String SANDBOX_HOME = "/home/aluno";
+	public static final int SANDBOX_UID = 1000;
 
 	private static final Logger logger = LoggerFactory.getLogger(DockerService.class);
+	private static final Duration IMAGE_BUILD_TIMEOUT = Duration.ofMinutes(10);
 
+	private final boolean engineApiEnabled;
 	private String commandPrefix = "docker";
+	private DockerEngineClient engineClient;
+
+	public DockerService() {
+		this(true);
+	}
+
+	public DockerService(boolean engineApiEnabled) {
+		this.engineApiEnabled = engineApiEnabled;
+	}
 
 	public String getCommandPrefix() {
 		return commandPrefix;
 	}
 
+	/**
+	 * Montagens do modo {@code TMPFS}: home do aluno e /tmp graváveis, com
+	 * {@code exec} porque os níveis executam scripts criados ali.
+	 */
+	public static Map<String, String> tmpfsMounts(ResourceProfile profile) {
+		String size = "size=" + profile.tmpfsSizeMb() + "m";
+		return Map.of(
+				SANDBOX_HOME, "rw,exec,nosuid,nodev," + size + ",uid=" + SANDBOX_UID + ",gid=" + SANDBOX_UID + ",mode=0755",
+				"/tmp", "rw,exec,nosuid,nodev," + size + ",mode=1777");
+	}
+
+	/**
+	 * Resultado de um container que terminou sozinho. Códigos a partir de 125
+	 * vêm do Docker ou do shell (imagem, comando não executável), não do script
+	 * do aluno, e ganham o aviso de erro de sistema no stderr.
+	 */
+	static ExecutionResult finished(String stdout, String stderr, int exitCode, ResourceUsage usage) {
+		if (exitCode >= 125)
+			stderr = "\n[ERRO SISTEMA] Exit " + exitCode + "\n" + stderr;
+		return new ExecutionResult(stdout, stderr, exitCode, usage);
+	}
+
+	public static String newContainerName() {
+		return CONTAINER_NAME_PREFIX + UUID.randomUUID();
+	}
+
+	@Nullable
+	static Long parseStartedAt(@Nullable String label) {
+		if (label == null || label.isBlank())
+			return null;
+		try {
+			return Long.parseLong(label.strip());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	public ManagedContainerExecutor createExecutor(ResourceScheduler scheduler) {
+		if (engineClient != null)
+			return new DockerEngineExecutor(engineClient, scheduler);
+		return new DockerCliExecutor(commandPrefix, scheduler);
+	}
+
 	public void ensureImageExists() {
 		logger.info("[DockerService] Verificando ambiente...");
 		try {
+			if (engineApiEnabled && prepareEngineApi())
+				return;
 			if (!checkDockerBinary())
 				return;
 			if (!checkDockerPermissions())
@@ -39,6 +110,78 @@ public class DockerService {
 		}
 	}
 
+	private boolean prepareEngineApi() {
+		var client = new DockerEngineClient(DockerEngineClient.resolveSocketPath());
+		if (!client.isSocketAccessible()) {
+			logger.info("[DockerService] Socket do Docker inacessível, usando a CLI.");
+			return false;
+		}
+
+		try {
+			var ping = client.request("GET", "/_ping", null);
+			if (!ping.isSuccess()) {
+				logger.warn("[DockerService] Engine API respondeu HTTP {}, usando a CLI.", ping.status());
+				return false;
+			}
+
+			buildImageViaEngineApi(client);
+			logger.info("[DockerService] Engine API via socket OK.");
+			this.engineClient = client;
+			return true;
+		} catch (IOException e) {
+			logger.warn("[DockerService] Engine API indisponível ({}), usando a CLI.", e.getMessage());
+			return false;
+		}
+	}
+
+	private void buildImageViaEngineApi(DockerEngineClient client) throws IOException {
+		logger.info("[DockerService] Buildando imagem via Engine API...");
+		byte[] dockerfile;
+		try (var input = getClass().getResourceAsStream(DOCKERFILE_RESOURCE)) {
+			if (input == null)
+				throw new IOException("Not found: " + DOCKERFILE_RESOURCE);
+			dockerfile = input.readAllBytes();
+		}
+
+		var response = client.request("POST", "/build?t=" + IMAGE_NAME, "application/x-tar",
+				singleFileTar("Dockerfile", dockerfile), IMAGE_BUILD_TIMEOUT);
+
+		if (!response.isSuccess() || response.body().contains("\"error\""))
+			throw new IOException("Falha no build: " + response.body());
+		logger.info("[DockerService] Imagem pronta.");
+	}
+
+	private byte[] singleFileTar(String name, byte[] content) {
+		byte[] header = new byte[512];
+		writeTarField(header, 0, 100, name);
+		writeTarField(header, 100, 8, "0000644");
+		writeTarField(header, 108, 8, "0000000");
+		writeTarField(header, 116, 8, "0000000");
+		writeTarField(header, 124, 12, String.format("%011o", content.length));
+		writeTarField(header, 136, 12, String.format("%011o", System.currentTimeMillis() / 1000));
+		Arrays.fill(header, 148, 156, (byte) ' ');
+		header[156] = '0';
+		writeTarField(header, 257, 6, "ustar");
+		writeTarField(header, 263, 2, "00");
+
+		int checksum = 0;
+		for (byte b : header)
+			checksum += b & 0xFF;
+		writeTarField(header, 148, 8, String.format("%06o", checksum) + "\0 ");
+
+		var tar = new ByteArrayOutputStream();
+		tar.writeBytes(header);
+		tar.writeBytes(content);
+		tar.writeBytes(new byte[(512 - content.length % 512) % 512]);
+		tar.writeBytes(new byte[1024]);
+		return tar.toByteArray();
+	}
+
+	private void writeTarField(byte[] header, int offset, int length, String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(bytes, 0, header, offset, Math.min(bytes.length, length));
+	}
+
 	private boolean checkDockerBinary() {
 		try {
 			int exitCode = new ProcessBuilder("docker", "--version").start().waitFor();
@@ -122,4 +265,4 @@ public class DockerService {
 		} catch (IOException e) {
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências em milissegundos com baldes logarítmicos (8 por
+ * potência de dois, erro relativo de até 12,5%) e gravação sem locks. Com um
+ * limite de decaimento, as contagens são divididas pela metade ao atingi-lo,
+ * fazendo os percentis acompanharem o comportamento recente.
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAGNITUDES = 24;
+	private static final long MAX_TRACKABLE_MILLIS = (1L << MAGNITUDES) - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(MAGNITUDES * SUB_BUCKETS);
+	private final AtomicLong total = new AtomicLong();
+	private final AtomicBoolean decaying = new AtomicBoolean();
+	private final long decayThreshold;
+
+	public LatencyHistogram() {
+		this(0);
+	}
+
+	public LatencyHistogram(long decayThreshold) {
+		this.decayThreshold = decayThreshold;
+	}
+
+	public void record(long millis) {
+		counts.incrementAndGet(bucketOf(millis));
+		long recorded = total.incrementAndGet();
+		if (decayThreshold > 0 && recorded >= decayThreshold && decaying.compareAndSet(false, true)) {
+			try {
+				decay();
+			} finally {
+				decaying.set(false);
+			}
+		}
+	}
+
+	public long getCount() {
+		return total.get();
+	}
+
+	/**
+	 * Devolve o limite superior do balde que contém o percentil pedido (0 a
+	 * 100), ou seja, uma estimativa conservadora. Sem amostras, devolve 0.
+	 */
+	public long percentile(double percentile) {
+		return percentile(snapshotCounts(), percentile);
+	}
+
+	/**
+	 * Mesmo cálculo sobre uma cópia já tirada, para que vários percentis de um
+	 * relatório venham do mesmo instante.
+	 */
+	public static long percentile(long[] snapshot, double percentile) {
+		long count = 0;
+		for (long bucketCount : snapshot)
+			count += bucketCount;
+		if (count == 0)
+			return 0;
+
+		long rank = Math.max(1, (long) Math.ceil(count * percentile / 100.0));
+		long seen = 0;
+		for (int bucket = 0; bucket < snapshot.length; bucket++) {
+			seen += snapshot[bucket];
+			if (seen >= rank)
+				return upperBoundOf(bucket);
+		}
+		return MAX_TRACKABLE_MILLIS;
+	}
+
+	public long[] snapshotCounts() {
+		long[] snapshot = new long[counts.length()];
+		for (int i = 0; i < snapshot.length; i++)
+			snapshot[i] = counts.get(i);
+		return snapshot;
+	}
+
+	public static long upperBoundOf(int bucket) {
+		int magnitude = bucket >> SUB_BUCKET_BITS;
+		int subBucket = bucket & (SUB_BUCKETS - 1);
+		if (magnitude < SUB_BUCKET_BITS)
+			return bucket;
+		long base = 1L << magnitude;
+		long width = base >> SUB_BUCKET_BITS;
+		return base + (subBucket + 1) * width - 1;
+	}
+
+	private static int bucketOf(long millis) {
+		long value = Math.min(Math.max(millis, 0), MAX_TRACKABLE_MILLIS);
+		int magnitude = 63 - Long.numberOfLeadingZeros(value | 1);
+		if (magnitude < SUB_BUCKET_BITS)
+			return (int) value;
+		int subBucket = (int) (value >> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (magnitude << SUB_BUCKET_BITS) | subBucket;
+	}
+
+	private void decay() {
+		long remaining = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			long halved = counts.updateAndGet(i, current -> current / 2);
+			remaining += halved;
+		}
+		total.set(remaining);
+	}
+}
@@ -2,6 +2,8 @@ package br.edu.ifmg.cli.services;
 
 import br.edu.ifmg.cli.models.GameData;
 import br.edu.ifmg.cli.models.Level;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.SandboxFilesystem;
 import com.google.gson.Gson;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
@@ -11,11 +13,23 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public class LevelService {
-    
+
+    /** Identificador usado pelo frontend para o modo livre, sem nível. */
+    public static final String SANDBOX_LEVEL_ID = "sandbox";
+
     private final GameData gameData;
     private final Map<String, Level> levelsMap;
+    private final Map<String, CompiledVerification> verificationsMap;
+    private final Map<String, ResourceProfile> profilesMap;
+    private final ResourceProfile defaultProfile;
 
     public LevelService() {
+        this(SandboxFilesystem.OVERLAY);
+    }
+
+    public LevelService(SandboxFilesystem defaultFilesystem) {
+        this.defaultProfile = ResourceProfile.STANDARD.withFilesystem(defaultFilesystem);
+
         try (var stream = getClass().getResourceAsStream("/levels.json")) {
             if (stream == null) throw new RuntimeException("levels.json não encontrado!");
             
@@ -25,6 +39,14 @@ public class LevelService {
             
             this.levelsMap = gameData.levels().stream()
                 .collect(Collectors.toUnmodifiableMap(Level::id, Function.identity()));
+
+            this.verificationsMap = gameData.levels().stream()
+                .filter(level -> level.verificationRules() != null && !level.verificationRules().isEmpty())
+                .collect(Collectors.toUnmodifiableMap(Level::id,
+                    level -> CompiledVerification.compile(level.verificationRules())));
+
+            this.profilesMap = gameData.levels().stream()
+                .collect(Collectors.toUnmodifiableMap(Level::id, level -> resolveProfile(level, defaultFilesystem)));
                 
         } catch (Exception e) {
             throw new RuntimeException("Falha ao carregar níveis", e);
@@ -38,4 +60,31 @@ public class LevelService {
     public Optional<Level> getLevel(String id) {
         return Optional.ofNullable(levelsMap.get(id));
     }
-}
\ No newline at end of file
+
+    public Optional<CompiledVerification> getVerification(String levelId) {
+        return Optional.ofNullable(verificationsMap.get(levelId));
+    }
+
+    public ResourceProfile getResourceProfile(String levelId) {
+        return profilesMap.getOrDefault(levelId, defaultProfile);
+    }
+
+    public ResourceProfile getDefaultProfile() {
+        return defaultProfile;
+    }
+
+    private static ResourceProfile resolveProfile(Level level, SandboxFilesystem defaultFilesystem) {
+        ResourceProfile profile = level.resourceProfile() == null
+            ? ResourceProfile.STANDARD
+            : ResourceProfile.byName(level.resourceProfile())
+                .orElseThrow(() -> new IllegalArgumentException(
+                    "Perfil de recursos desconhecido no nível " + level.id() + ": " + level.resourceProfile()));
+
+        SandboxFilesystem filesystem = level.filesystem() == null
+            ? defaultFilesystem
+            : SandboxFilesystem.byName(level.filesystem())
+                .orElseThrow(() -> new IllegalArgumentException(
+                    "Modo de sistema de arquivos desconhecido no nível " + level.id() + ": " + level.filesystem()));
+        return profile.withFilesystem(filesystem);
+    }
+}
@@ -0,0 +1,27 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Executor que identifica seus containers (nome e labels) e permite que o
+ * {@link ContainerReaper} encontre e remova os que sobraram de execuções
+ * interrompidas.
+ */
+public interface ManagedContainerExecutor extends ContainerExecutor {
+
+	List<SandboxContainer> listSandboxContainers() throws IOException;
+
+	void removeContainer(String containerId) throws IOException;
+
+	long getTimeoutKills();
+
+	/**
+	 * Só containers com {@link DockerService#SANDBOX_LABEL}. {@code startedAtMillis}
+	 * é nulo quando falta o label de início, e esses nunca são removidos.
+	 */
+	record SandboxContainer(String id, @Nullable Long startedAtMillis) {
+	}
+}
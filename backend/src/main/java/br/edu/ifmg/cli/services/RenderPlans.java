@@ -0,0 +1,134 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.Gson;
+
+import br.edu.ifmg.cli.models.CliDefinitions;
+import br.edu.ifmg.cli.models.CliDefinitions.ControlDef;
+import br.edu.ifmg.cli.models.CliDefinitions.OperatorDef;
+import br.edu.ifmg.cli.models.ast.AstControlConfig;
+import br.edu.ifmg.cli.models.ast.AstOperatorConfig;
+import br.edu.ifmg.cli.models.ast.AstVocabulary;
+
+/**
+ * Planos imutáveis de renderização dos controles e operadores, compilados uma
+ * vez a partir de {@code cli_definitions.json}. Os nós da AST só trazem o nome:
+ * o comando shell nos controles ({@code if}, {@code while}) e o id nos
+ * operadores. As configurações embutidas pelo cliente ficam só como
+ * compatibilidade para nomes que as definições não conhecem.
+ */
+public final class RenderPlans {
+
+	public static final String DEFINITIONS_RESOURCE = "/definitions/cli_definitions.json";
+
+	public record ControlPlan(@Nullable String syntaxEnd, List<ControlStep> steps) {
+	}
+
+	public record ControlStep(String key, String syntaxPrefix, boolean obligatory, boolean breakLineBefore) {
+	}
+
+	public record OperatorPlan(List<OperatorStep> steps) {
+	}
+
+	/** Símbolo já posicionado: {@code "| "} antes do conteúdo ou {@code " & true"} depois. */
+	public record OperatorStep(String key, String prefix, String suffix) {
+	}
+
+	private final Map<String, ControlPlan> controls;
+	private final Map<String, OperatorPlan> operators;
+
+	private RenderPlans(Map<String, ControlPlan> controls, Map<String, OperatorPlan> operators) {
+		this.controls = controls;
+		this.operators = operators;
+	}
+
+	public static RenderPlans load() {
+		try (var stream = RenderPlans.class.getResourceAsStream(DEFINITIONS_RESOURCE)) {
+			if (stream == null)
+				throw new IllegalStateException(DEFINITIONS_RESOURCE + " não encontrado!");
+			var reader = new InputStreamReader(stream, StandardCharsets.UTF_8);
+			return compile(new Gson().fromJson(reader, CliDefinitions.class));
+		} catch (Exception e) {
+			throw new IllegalStateException("Falha ao compilar os planos de renderização", e);
+		}
+	}
+
+	public static RenderPlans compile(CliDefinitions definitions) {
+		Map<String, ControlPlan> controls = definitions.controls() == null ? Map.of()
+				: compileControls(definitions.controls());
+		Map<String, OperatorPlan> operators = definitions.operators() == null ? Map.of()
+				: definitions.operators().stream().collect(
+						Collectors.toUnmodifiableMap(OperatorDef::id, RenderPlans::compileOperator));
+		return new RenderPlans(controls, operators);
+	}
+
+	public Optional<ControlPlan> control(String name) {
+		return Optional.ofNullable(controls.get(name));
+	}
+
+	public Optional<OperatorPlan> operator(String name) {
+		return Optional.ofNullable(operators.get(name));
+	}
+
+	public static ControlPlan compile(AstControlConfig config) {
+		return new ControlPlan(config.syntaxEnd(), compileSlots(config.slots(),
+				slot -> new ControlStep(slot.key(), nullToEmpty(slot.syntaxPrefix()), slot.obligatory(),
+						slot.breakLineBefore())));
+	}
+
+	public static OperatorPlan compile(AstOperatorConfig config) {
+		return new OperatorPlan(compileSlots(config.slots(),
+				slot -> operatorStep(slot.key(), slot.symbol(), slot.symbolPlacement())));
+	}
+
+	/**
+	 * Os nós de controle trazem só a palavra-chave shell, então duas definições
+	 * com o mesmo {@code shellCommand} seriam ambíguas.
+	 */
+	private static Map<String, ControlPlan> compileControls(List<ControlDef> controls) {
+		var plans = new HashMap<String, ControlPlan>();
+		for (var control : controls) {
+			if (plans.put(control.shellCommand(), compileControl(control)) != null)
+				throw new IllegalArgumentException("Controle '" + control.id() + "' repete o comando shell '"
+						+ control.shellCommand() + "' de outra definição");
+		}
+		return Map.copyOf(plans);
+	}
+
+	private static ControlPlan compileControl(ControlDef control) {
+		return new ControlPlan(control.syntaxEnd(), compileSlots(control.slots(),
+				slot -> new ControlStep(slot.name(), nullToEmpty(slot.syntaxPrefix()), slot.obligatory(),
+						slot.breakLineBefore())));
+	}
+
+	private static OperatorPlan compileOperator(OperatorDef operator) {
+		return new OperatorPlan(compileSlots(operator.slots(),
+				slot -> operatorStep(slot.name(), slot.symbol(), slot.symbolPlacement())));
+	}
+
+	private static OperatorStep operatorStep(String key, @Nullable String symbol, @Nullable String placement) {
+		if (symbol == null)
+			return new OperatorStep(key, "", "");
+		if (AstVocabulary.Values.PLACEMENT_BEFORE.equals(placement))
+			return new OperatorStep(key, symbol + " ", "");
+		return new OperatorStep(key, "", " " + symbol);
+	}
+
+	private static <S, T> List<T> compileSlots(@Nullable List<S> slots, Function<S, T> compiler) {
+		return slots == null ? List.of() : slots.stream().map(compiler).toList();
+	}
+
+	private static String nullToEmpty(@Nullable String value) {
+		return value != null ? value : "";
+	}
+}
@@ -0,0 +1,123 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Trecho de tempo de uma requisição HTTP, associado à thread que a atende.
+ * Os serviços abrem spans com {@link #span(String)} sem conhecer a requisição:
+ * com o rastreamento desligado, ou sem trace na thread, o span devolvido é um
+ * objeto fixo que não faz nada, e o custo é uma leitura de campo volátil.
+ *
+ * Um trace só é alterado pela thread da requisição; spans abertos em outras
+ * threads (execução especulativa, health checks) não têm trace e são ignorados.
+ */
+public final class RequestTrace {
+
+	public interface Span extends AutoCloseable {
+		@Override
+		void close();
+	}
+
+	public record SpanRecord(String name, long startNanos, long endNanos) {
+
+		public double durationMillis() {
+			return (endNanos - startNanos) / 1_000_000.0;
+		}
+	}
+
+	private static final Span NOOP = () -> {
+	};
+	private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+	private static volatile boolean enabled;
+
+	private final String requestId;
+	private final String name;
+	private final long startNanos;
+	private final long startEpochMicros;
+	private final List<SpanRecord> spans = new ArrayList<>();
+	private long endNanos;
+
+	private RequestTrace(String requestId, String name) {
+		this.requestId = requestId;
+		this.name = name;
+		this.startEpochMicros = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+		this.startNanos = System.nanoTime();
+	}
+
+	public static void setEnabled(boolean value) {
+		enabled = value;
+	}
+
+	/** Abre o trace da requisição atendida pela thread atual. */
+	public static RequestTrace begin(String requestId, String name) {
+		var trace = new RequestTrace(requestId, name);
+		CURRENT.set(trace);
+		return trace;
+	}
+
+	/** Encerra e desassocia o trace da thread atual, se houver. */
+	public static @Nullable RequestTrace end() {
+		RequestTrace trace = CURRENT.get();
+		if (trace == null)
+			return null;
+		CURRENT.remove();
+		trace.endNanos = System.nanoTime();
+		return trace;
+	}
+
+	public static Span span(String name) {
+		if (!enabled)
+			return NOOP;
+		RequestTrace trace = CURRENT.get();
+		if (trace == null)
+			return NOOP;
+
+		long start = System.nanoTime();
+		return () -> trace.spans.add(new SpanRecord(name, start, System.nanoTime()));
+	}
+
+	public String getRequestId() {
+		return requestId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public long getStartNanos() {
+		return startNanos;
+	}
+
+	public long getEndNanos() {
+		return endNanos;
+	}
+
+	/** Converte um instante de {@link System#nanoTime()} deste trace em microssegundos desde a época. */
+	public long toEpochMicros(long nanos) {
+		return startEpochMicros + TimeUnit.NANOSECONDS.toMicros(nanos - startNanos);
+	}
+
+	public List<SpanRecord> getSpans() {
+		return spans;
+	}
+
+	/** Valor do cabeçalho {@code Server-Timing}: um item por span e o total. */
+	public String toServerTiming() {
+		var header = new StringBuilder();
+		for (SpanRecord span : spans)
+			appendMetric(header, span.name(), span.durationMillis());
+		appendMetric(header, "total", (endNanos - startNanos) / 1_000_000.0);
+		return header.toString();
+	}
+
+	private static void appendMetric(StringBuilder header, String name, double millis) {
+		if (!header.isEmpty())
+			header.append(", ");
+		header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", millis));
+	}
+}
@@ -0,0 +1,145 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.Nullable;
+
+import br.edu.ifmg.cli.config.SandboxConfig;
+import br.edu.ifmg.cli.models.CpusetStats;
+import br.edu.ifmg.cli.models.ResourceProfile;
+
+/**
+ * Reserva a fatia de CPU declarada pelo perfil de cada execução dentro de um
+ * orçamento fixo do host, permitindo empacotar mais execuções leves. Com um
+ * {@link CpusetPool}, reserva em vez disso um slot de núcleos dedicado, e o
+ * orçamento em milicores deixa de ser usado.
+ */
+public class ResourceScheduler {
+
+	public static final int MAX_WAIT_SECONDS = 5;
+
+	/**
+	 * Reserva devolvida por {@link #acquire}; {@code slot} só existe no modo
+	 * cpuset e {@code spare} marca as reservas de {@link #tryAcquireSpare}.
+	 */
+	public record Reservation(int cpuMillis, @Nullable CpusetPool.Slot slot, boolean spare) {
+
+		public @Nullable String cpuset() {
+			return slot != null ? slot.cpus() : null;
+		}
+	}
+
+	private final int cpuBudgetMillis;
+	private final Semaphore cpuMillis;
+	private final @Nullable CpusetPool cpusets;
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final Set<Thread> spareHolders = ConcurrentHashMap.newKeySet();
+
+	public ResourceScheduler(int cpuBudgetMillis) {
+		this(cpuBudgetMillis, null);
+	}
+
+	public ResourceScheduler(int cpuBudgetMillis, @Nullable CpusetPool cpusets) {
+		this.cpuBudgetMillis = cpuBudgetMillis;
+		this.cpuMillis = new Semaphore(cpuBudgetMillis, true);
+		this.cpusets = cpusets;
+	}
+
+	public static ResourceScheduler create(SandboxConfig sandbox) {
+		var cpuset = sandbox.cpuset();
+		return new ResourceScheduler(sandbox.cpuBudgetMillis(), cpuset.enabled() ? new CpusetPool(cpuset) : null);
+	}
+
+	/**
+	 * Espera até {@link #MAX_WAIT_SECONDS}; devolve {@code null} se o sandbox
+	 * seguir ocupado. Se não houver capacidade imediata, interrompe as
+	 * execuções em segundo plano para devolver a capacidade a esta.
+	 */
+	public @Nullable Reservation acquire(ResourceProfile profile) throws InterruptedException {
+		waiting.incrementAndGet();
+		try (var span = RequestTrace.span("queue")) {
+			Reservation reservation = tryAcquire(profile, 0, false);
+			if (reservation != null)
+				return reservation;
+
+			spareHolders.forEach(Thread::interrupt);
+			return tryAcquire(profile, MAX_WAIT_SECONDS, false);
+		} finally {
+			waiting.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Reserva sem esperar, só sem execuções na fila e só se metade da
+	 * capacidade continuar livre depois da reserva. A thread
+	 * que a segura é interrompida assim que uma execução real precisar da
+	 * capacidade, e deve então desistir do resultado.
+	 */
+	public @Nullable Reservation tryAcquireSpare(ResourceProfile profile) throws InterruptedException {
+		if (waiting.get() > 0 || !hasHeadroomFor(profile))
+			return null;
+
+		Reservation reservation = tryAcquire(profile, 0, true);
+		if (reservation == null)
+			return null;
+
+		spareHolders.add(Thread.currentThread());
+		if (waiting.get() > 0) {
+			release(reservation);
+			return null;
+		}
+		return reservation;
+	}
+
+	private @Nullable Reservation tryAcquire(ResourceProfile profile, long timeoutSeconds, boolean spare)
+			throws InterruptedException {
+		if (cpusets != null) {
+			var slot = cpusets.acquire(timeoutSeconds, TimeUnit.SECONDS);
+			return slot != null ? new Reservation(0, slot, spare) : null;
+		}
+
+		int permits = permitsFor(profile);
+		return cpuMillis.tryAcquire(permits, timeoutSeconds, TimeUnit.SECONDS)
+				? new Reservation(permits, null, spare)
+				: null;
+	}
+
+	public void release(Reservation reservation) {
+		if (reservation.spare())
+			spareHolders.remove(Thread.currentThread());
+		if (reservation.slot() != null && cpusets != null)
+			cpusets.release(reservation.slot());
+		else
+			cpuMillis.release(reservation.cpuMillis());
+	}
+
+	/** Pelo menos metade do orçamento (ou dos slots) livre. */
+	public boolean hasIdleCapacity() {
+		if (cpusets != null)
+			return cpusets.hasIdleCapacity();
+		return cpuMillis.availablePermits() * 2 >= cpuBudgetMillis;
+	}
+
+	private boolean hasHeadroomFor(ResourceProfile profile) {
+		if (cpusets != null)
+			return cpusets.hasSpareSlot();
+		return (cpuMillis.availablePermits() - permitsFor(profile)) * 2 >= cpuBudgetMillis;
+	}
+
+	public int getAvailableCpuMillis() {
+		return cpuMillis.availablePermits();
+	}
+
+	public Optional<CpusetStats> getCpusetStats() {
+		return Optional.ofNullable(cpusets).map(CpusetPool::getStats);
+	}
+
+	private int permitsFor(ResourceProfile profile) {
+		return Math.min(profile.cpuMillis(), cpuBudgetMillis);
+	}
+}
@@ -0,0 +1,83 @@
+package br.edu.ifmg.cli.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jetbrains.annotations.Nullable;
+
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.LevelAnalytics;
+
+/**
+ * Agregados por nível atualizados sem locks a cada execução. A leitura copia
+ * os contadores no momento da consulta, sem coordenar com quem grava: um
+ * snapshot pode misturar execuções em andamento, mas nunca bloqueia o
+ * caminho quente.
+ */
+public class RunAnalytics {
+
+	/** Execuções sem nível ou com um nível desconhecido do servidor. */
+	public static final String SANDBOX_KEY = LevelService.SANDBOX_LEVEL_ID;
+
+	private static final int EXIT_CODES = 256;
+
+	private final Map<String, LevelCounters> levels = new ConcurrentHashMap<>();
+
+	public void record(@Nullable String levelId, ExecutionResult result, long latencyMillis) {
+		levels.computeIfAbsent(levelId != null ? levelId : SANDBOX_KEY, id -> new LevelCounters())
+				.record(result.exitCode(), latencyMillis);
+	}
+
+	public List<LevelAnalytics> snapshot() {
+		var snapshots = new ArrayList<LevelAnalytics>(levels.size());
+		levels.forEach((levelId, counters) -> snapshots.add(counters.snapshot(levelId)));
+		snapshots.sort(Comparator.comparing(LevelAnalytics::levelId));
+		return snapshots;
+	}
+
+	private static final class LevelCounters {
+		private final LongAdder attempts = new LongAdder();
+		private final LongAdder passes = new LongAdder();
+		private final AtomicLongArray exitCodes = new AtomicLongArray(EXIT_CODES);
+		private final LatencyHistogram latency = new LatencyHistogram();
+
+		void record(int exitCode, long latencyMillis) {
+			attempts.increment();
+			if (exitCode == 0)
+				passes.increment();
+			exitCodes.incrementAndGet(Math.floorMod(exitCode, EXIT_CODES));
+			latency.record(latencyMillis);
+		}
+
+		LevelAnalytics snapshot(String levelId) {
+			long attemptCount = attempts.sum();
+			long passCount = passes.sum();
+
+			var exitCodeCounts = new LinkedHashMap<Integer, Long>();
+			for (int code = 0; code < EXIT_CODES; code++) {
+				long count = exitCodes.get(code);
+				if (count > 0)
+					exitCodeCounts.put(code, count);
+			}
+
+			long[] buckets = latency.snapshotCounts();
+			var nonEmpty = new ArrayList<LevelAnalytics.LatencyBucket>();
+			for (int bucket = 0; bucket < buckets.length; bucket++) {
+				if (buckets[bucket] > 0)
+					nonEmpty.add(new LevelAnalytics.LatencyBucket(LatencyHistogram.upperBoundOf(bucket), buckets[bucket]));
+			}
+
+			return new LevelAnalytics(levelId, attemptCount, passCount,
+					attemptCount > 0 ? (double) passCount / attemptCount : 0,
+					exitCodeCounts, LatencyHistogram.percentile(buckets, 50), LatencyHistogram.percentile(buckets, 90),
+					LatencyHistogram.percentile(buckets, 99),
+					nonEmpty.isEmpty() ? 0 : nonEmpty.get(nonEmpty.size() - 1).upToMillis(), nonEmpty);
+		}
+	}
+}
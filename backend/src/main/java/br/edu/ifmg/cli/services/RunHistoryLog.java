@@ -0,0 +1,300 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+
+import br.edu.ifmg.cli.config.RunHistoryConfig;
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.RunRecord;
+import br.edu.ifmg.cli.models.ast.AstNode;
+
+/**
+ * Log append-only das execuções em segmentos rotacionados. O caminho da
+ * requisição só enfileira (sem bloquear; com a fila cheia o registro é
+ * descartado e contado) e uma thread grava em lotes, com um flush por lote.
+ *
+ * Ao abrir e a cada rotação, segmentos fechados são apagados, do mais antigo
+ * para o mais novo, enquanto o total passar de {@code maxBytes} ou enquanto
+ * forem mais velhos que {@code maxAgeMillis}.
+ *
+ * Cada segmento começa com {@link #MAGIC} e a versão do formato, seguidos de
+ * frames {@code [tamanho int][crc32 int][JSON UTF-8]}. Um frame truncado no
+ * fim (queda do processo) encerra a leitura sem invalidar os anteriores.
+ */
+public class RunHistoryLog implements AutoCloseable {
+
+	public static final String SEGMENT_EXTENSION = ".runlog";
+
+	private static final Logger logger = LoggerFactory.getLogger(RunHistoryLog.class);
+
+	private static final int MAGIC = 0x53425248; // "SBRH"
+	private static final short FORMAT_VERSION = 1;
+	private static final int MAX_BATCH = 256;
+	private static final long POLL_INTERVAL_MILLIS = 200;
+	private static final int MAX_FRAME_BYTES = 64 * 1024 * 1024;
+	private static final Pattern SEGMENT_PATTERN = Pattern.compile("^segment-(\\d+)\\" + SEGMENT_EXTENSION + "$");
+	private static final Gson gson = new Gson();
+
+	private final Path directory;
+	private final long segmentBytes;
+	private final long maxBytes;
+	private final long maxAgeMillis;
+	private final BlockingQueue<PendingRun> queue;
+	private final AtomicLong dropped = new AtomicLong();
+	private final Thread writerThread;
+
+	private volatile boolean running = true;
+	private long nextSegment;
+	private DataOutputStream output;
+	private long currentSegmentSize;
+
+	public RunHistoryLog(RunHistoryConfig config) throws IOException {
+		this.directory = Path.of(config.directory());
+		this.segmentBytes = config.segmentBytes();
+		this.maxBytes = config.maxBytes();
+		this.maxAgeMillis = config.maxAgeMillis();
+		this.queue = new ArrayBlockingQueue<>(config.queueCapacity());
+
+		Files.createDirectories(directory);
+		this.nextSegment = findLastSegmentNumber(directory) + 1;
+		enforceRetention();
+
+		this.writerThread = new Thread(this::writeLoop, "RunHistoryWriter");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	public void append(@Nullable String levelId, AstNode ast, String script, ExecutionResult result,
+			long generationMicros, long totalMillis) {
+		var pending = new PendingRun(System.currentTimeMillis(), levelId, ast, script, result, generationMicros,
+				totalMillis);
+		if (!queue.offer(pending) && dropped.incrementAndGet() % 1000 == 1)
+			logger.warn("[RunHistory] Fila cheia, registros descartados até agora: {}", dropped.get());
+	}
+
+	public long getDroppedCount() {
+		return dropped.get();
+	}
+
+	@Override
+	public void close() {
+		// Sem interrupt: o canal do arquivo seria fechado no meio de uma escrita.
+		running = false;
+		try {
+			writerThread.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public static List<Path> listSegments(Path directory) throws IOException {
+		if (!Files.isDirectory(directory))
+			return List.of();
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> SEGMENT_PATTERN.matcher(path.getFileName().toString()).matches())
+					.sorted()
+					.toList();
+		}
+	}
+
+	/**
+	 * Lê os registros de um segmento em ordem. Devolve quantos foram lidos;
+	 * para no primeiro frame truncado ou corrompido.
+	 */
+	public static long readSegment(Path segment, Consumer<RunRecord> consumer) throws IOException {
+		try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(segment)))) {
+			if (input.readInt() != MAGIC)
+				throw new IOException("Arquivo não é um segmento de histórico: " + segment);
+			short version = input.readShort();
+			if (version != FORMAT_VERSION)
+				throw new IOException("Versão de segmento não suportada: " + version);
+
+			long count = 0;
+			var crc = new CRC32();
+			while (true) {
+				int length;
+				try {
+					length = input.readInt();
+				} catch (EOFException e) {
+					return count;
+				}
+
+				try {
+					int expectedCrc = input.readInt();
+					if (length < 0 || length > MAX_FRAME_BYTES)
+						throw new IOException("tamanho de frame inválido: " + length);
+					byte[] payload = input.readNBytes(length);
+					if (payload.length < length)
+						throw new EOFException();
+
+					crc.reset();
+					crc.update(payload);
+					if ((int) crc.getValue() != expectedCrc)
+						throw new IOException("CRC inválido");
+
+					consumer.accept(gson.fromJson(new String(payload, StandardCharsets.UTF_8), RunRecord.class));
+					count++;
+				} catch (IOException e) {
+					logger.warn("[RunHistory] {} termina em um frame incompleto após {} registros ({}).",
+							segment.getFileName(), count, e.getMessage() != null ? e.getMessage() : "truncado");
+					return count;
+				}
+			}
+		}
+	}
+
+	private void writeLoop() {
+		var batch = new ArrayList<PendingRun>(MAX_BATCH);
+		while (true) {
+			PendingRun first;
+			try {
+				first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				first = null;
+			}
+			if (first == null) {
+				if (!running)
+					break;
+				continue;
+			}
+
+			batch.add(first);
+			queue.drainTo(batch, MAX_BATCH - batch.size());
+
+			try {
+				writeBatch(batch);
+			} catch (IOException e) {
+				logger.error("[RunHistory] Falha ao gravar {} registros: {}", batch.size(), e.getMessage());
+				closeSegment();
+			}
+			batch.clear();
+		}
+		closeSegment();
+	}
+
+	private void writeBatch(List<PendingRun> batch) throws IOException {
+		var crc = new CRC32();
+		for (var pending : batch) {
+			byte[] payload = gson.toJson(pending.toRecord()).getBytes(StandardCharsets.UTF_8);
+			if (output == null || currentSegmentSize >= segmentBytes)
+				rotate();
+
+			crc.reset();
+			crc.update(payload);
+			output.writeInt(payload.length);
+			output.writeInt((int) crc.getValue());
+			output.write(payload);
+			currentSegmentSize += Integer.BYTES * 2L + payload.length;
+		}
+		output.flush();
+	}
+
+	private void rotate() throws IOException {
+		closeSegment();
+		Path segment = directory.resolve(String.format("segment-%08d%s", nextSegment++, SEGMENT_EXTENSION));
+		output = new DataOutputStream(new BufferedOutputStream(
+				Files.newOutputStream(segment, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)));
+		output.writeInt(MAGIC);
+		output.writeShort(FORMAT_VERSION);
+		currentSegmentSize = Integer.BYTES + Short.BYTES;
+		logger.info("[RunHistory] Novo segmento: {}", segment.getFileName());
+		enforceRetention();
+	}
+
+	/** Nunca apaga o segmento aberto, que é sempre o último da lista. */
+	private void enforceRetention() {
+		if (maxBytes <= 0 && maxAgeMillis <= 0)
+			return;
+		try {
+			List<Path> closed = new ArrayList<>(listSegments(directory));
+			if (output != null && !closed.isEmpty())
+				closed.remove(closed.size() - 1);
+
+			long total = currentSegmentSize;
+			for (Path segment : closed)
+				total += Files.size(segment);
+
+			long oldestAllowed = System.currentTimeMillis() - maxAgeMillis;
+			for (Path segment : closed) {
+				boolean overSize = maxBytes > 0 && total > maxBytes;
+				boolean expired = maxAgeMillis > 0 && Files.getLastModifiedTime(segment).toMillis() < oldestAllowed;
+				if (!overSize && !expired)
+					continue;
+
+				long size = Files.size(segment);
+				Files.deleteIfExists(segment);
+				total -= size;
+				logger.info("[RunHistory] Segmento removido pela retenção: {}", segment.getFileName());
+			}
+		} catch (IOException e) {
+			logger.warn("[RunHistory] Falha ao aplicar a retenção: {}", e.getMessage());
+		}
+	}
+
+	private void closeSegment() {
+		if (output == null)
+			return;
+		try {
+			output.close();
+		} catch (IOException e) {
+			logger.warn("[RunHistory] Falha ao fechar segmento: {}", e.getMessage());
+		}
+		output = null;
+	}
+
+	private static long findLastSegmentNumber(Path directory) throws IOException {
+		long last = 0;
+		for (Path segment : listSegments(directory)) {
+			var matcher = SEGMENT_PATTERN.matcher(segment.getFileName().toString());
+			if (matcher.matches())
+				last = Math.max(last, Long.parseLong(matcher.group(1)));
+		}
+		return last;
+	}
+
+	static String hashAst(AstNode ast) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256")
+					.digest(gson.toJson(ast).getBytes(StandardCharsets.UTF_8));
+			return HexFormat.of().formatHex(digest);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private record PendingRun(long timestampMillis, @Nullable String levelId, AstNode ast, String script,
+			ExecutionResult result, long generationMicros, long totalMillis) {
+
+		RunRecord toRecord() {
+			return new RunRecord(timestampMillis, levelId, hashAst(ast), script, result.exitCode(), result.stdout(),
+					result.stderr(), result.usage(), generationMicros, totalMillis);
+		}
+	}
+}
@@ -1,77 +1,111 @@
 package br.edu.ifmg.cli.services;
 
-import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.jetbrains.annotations.Nullable;
+
 import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.Level;
+import br.edu.ifmg.cli.models.ResourceProfile;
 
 public class SandboxRunner {
 
-    private static final int TIMEOUT_SECONDS = 10;
-    private static final Logger logger = LoggerFactory.getLogger(SandboxRunner.class);
-    private static final String LOG_FILE = "/tmp/last_cmd_out"; 
+    private static final String LOG_FILE = "/tmp/last_cmd_out";
+
+    private final ContainerExecutor executor;
 
-    private final String dockerPrefix;
+    public SandboxRunner(ContainerExecutor executor) {
+        this.executor = executor;
+    }
 
-    public SandboxRunner(String dockerPrefix) {
-        this.dockerPrefix = dockerPrefix;
+    public boolean hasIdleCapacity() {
+        return executor.hasIdleCapacity();
     }
 
-    public ExecutionResult run(String userScript, List<String> setupCommands, String verificationScript) {
-        try {
-            StringBuilder fullScript = new StringBuilder();
+    /** Runner sobre {@link ContainerExecutor#spareCapacity()}, se o executor o oferece. */
+    public Optional<SandboxRunner> spareCapacity() {
+        return Optional.ofNullable(executor.spareCapacity()).map(SandboxRunner::new);
+    }
 
-            if (setupCommands != null && !setupCommands.isEmpty()) {
-                fullScript.append("{ ");
-                for (String cmd : setupCommands)
-                    fullScript.append(cmd).append(" ; ");
-                fullScript.append(" } > /dev/null 2>&1 && ");
-            }
+    public ExecutionResult runLevel(String userScript, @Nullable Level level,
+            @Nullable CompiledVerification verification, ResourceProfile profile) {
+        List<String> setupCommands = level != null && level.setupCommands() != null
+                ? level.setupCommands()
+                : Collections.emptyList();
+
+        if (verification != null)
+            return run(userScript, setupCommands, verification, profile);
+
+        String verificationScript = level != null && level.verificationScript() != null
+                ? level.verificationScript()
+                : "";
+        return run(userScript, setupCommands, verificationScript, profile);
+    }
+
+    public ExecutionResult run(String userScript, List<String> setupCommands, String verificationScript,
+            ResourceProfile profile) {
+        StringBuilder fullScript = buildUserSection(userScript, setupCommands);
+        String verify = (verificationScript != null && !verificationScript.isBlank())
+                ? verificationScript
+                : "exit 0";
+        fullScript.append("\n").append(verify);
+
+        return executor.execute(fullScript.toString(), profile);
+    }
 
-            fullScript.append("{ ").append(userScript).append(" ; } > " + LOG_FILE + " 2>&1 ; ");
-            fullScript.append("cat " + LOG_FILE + " ; ");
-            String verify = (verificationScript != null && !verificationScript.isBlank())
-                    ? verificationScript
-                    : "exit 0";
-            fullScript.append("\n").append(verify);
-
-            var command = new ArrayList<String>();
-            String commandBeggining = this.dockerPrefix
-                + " run --rm --net none --memory 100m --cpus 0.5 blockly-shell-env bash -c";
-            command.addAll(Arrays.asList(commandBeggining.split("\\s+")));
-            command.add(fullScript.toString());
-
-            ProcessBuilder pb = new ProcessBuilder(command);
-            Process process = pb.start();
-
-            boolean finished = process.waitFor(TIMEOUT_SECONDS, TimeUnit.SECONDS);
-
-            String stdout, stderr;
-            int exitCode;
-
-            if (!finished) {
-                process.destroyForcibly();
-                stdout = "";
-                stderr = "⏱️ Tempo esgotado! Seu comando demorou muito.";
-                exitCode = 124;
-            } else {
-                stdout = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-                stderr = new String(process.getErrorStream().readAllBytes(), StandardCharsets.UTF_8);
-                exitCode = process.exitValue();
-
-                if (exitCode >= 125)
-                    stderr = "\n[ERRO SISTEMA] Exit " + exitCode + "\n" + stderr;
+    public ExecutionResult run(String userScript, List<String> setupCommands, CompiledVerification verification,
+            ResourceProfile profile) {
+        StringBuilder fullScript = buildUserSection(userScript, setupCommands);
+        String marker = null;
+
+        if (verification.requiresProbe()) {
+            marker = "__probe_" + UUID.randomUUID().toString().replace("-", "") + "__";
+            fullScript.append("printf '\\n%s\\n' '").append(marker).append("' ; ");
+            fullScript.append(verification.probeScript()).append(" ; ");
+        }
+        fullScript.append("exit 0");
+
+        ExecutionResult raw = executor.execute(fullScript.toString(), profile);
+        if (raw.exitCode() != 0)
+            return raw;
+
+        String output = raw.stdout();
+        String probeOutput = null;
+
+        if (marker != null) {
+            int markerIndex = output.lastIndexOf("\n" + marker + "\n");
+            if (markerIndex >= 0) {
+                probeOutput = output.substring(markerIndex + marker.length() + 2);
+                output = output.substring(0, markerIndex);
             }
+        }
 
-            return new ExecutionResult(stdout, stderr, exitCode);
+        Optional<String> failure;
+        try (var span = RequestTrace.span("verify")) {
+            failure = verification.evaluate(output, probeOutput);
+        }
+        if (failure.isEmpty())
+            return new ExecutionResult(output, raw.stderr(), 0, raw.usage());
+
+        String stdout = output.isEmpty() || output.endsWith("\n") ? output : output + "\n";
+        return new ExecutionResult(stdout + failure.get() + "\n", raw.stderr(), 1, raw.usage());
+    }
 
-        } catch (Exception e) {
-            logger.error("Erro interno no SandboxRunner", e);
-            return new ExecutionResult("", "Erro Interno: " + e.getMessage(), 1);
+    private StringBuilder buildUserSection(String userScript, List<String> setupCommands) {
+        StringBuilder fullScript = new StringBuilder();
+
+        if (setupCommands != null && !setupCommands.isEmpty()) {
+            fullScript.append("{ ");
+            for (String cmd : setupCommands)
+                fullScript.append(cmd).append(" ; ");
+            fullScript.append(" } > /dev/null 2>&1 && ");
         }
+
+        fullScript.append("{ ").append(userScript).append(" ; } > " + LOG_FILE + " 2>&1 ; ");
+        fullScript.append("cat " + LOG_FILE + " ; ");
+        return fullScript;
     }
 }
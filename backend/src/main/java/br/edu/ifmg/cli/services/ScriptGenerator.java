@@ -1,13 +1,34 @@
 package br.edu.ifmg.cli.services;
 
+import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.Nullable;
+
 import br.edu.ifmg.cli.models.ast.*;
 
 public class ScriptGenerator {
 
 	private static final Pattern SAFE_ARGUMENT_PATTERN = Pattern.compile("^[a-zA-Z0-9._/-]+$");
 
+	private final RenderPlans plans;
+	private final @Nullable Map<AstNode, String> renderCache;
+
+	public ScriptGenerator(RenderPlans plans) {
+		this(plans, null);
+	}
+
+	/**
+	 * O cache é indexado por identidade do nó: como a AST é imutável, subárvores
+	 * não alteradas por um patch preservam a identidade e reaproveitam a saída.
+	 */
+	public ScriptGenerator(RenderPlans plans, @Nullable Map<AstNode, String> renderCache) {
+		this.plans = plans;
+		this.renderCache = renderCache;
+	}
+
 	public String generate(AstNode rootNode) {
 		if (rootNode == null)
 			throw new IllegalArgumentException("AST não pode ser nula");
@@ -17,6 +38,18 @@ public class ScriptGenerator {
 	private String dispatch(AstNode node) {
 		if (node == null)
 			return "";
+		if (renderCache == null)
+			return render(node);
+
+		String cached = renderCache.get(node);
+		if (cached == null) {
+			cached = render(node);
+			renderCache.put(node, cached);
+		}
+		return cached;
+	}
+
+	private String render(AstNode node) {
 		return switch (node.type()) {
 		case AstVocabulary.Nodes.SCRIPT -> generateScript(node);
 		case AstVocabulary.Nodes.COMMAND -> generateCommand(node);
@@ -29,13 +62,15 @@ public class ScriptGenerator {
 	}
 
 	private String generateControl(AstNode node) {
-		if (node.controlConfig() == null)
+		var plan = plans.control(node.name())
+				.or(() -> Optional.ofNullable(node.controlConfig()).map(RenderPlans::compile));
+		if (plan.isEmpty())
 			return "";
 
-		var controlConfig = node.controlConfig();
+		var controlPlan = plan.get();
 		var sb = new StringBuilder(node.name());
 
-		for (var slot : controlConfig.slots()) {
+		for (var slot : controlPlan.steps()) {
 			var parameterOpt = node.getParameter(slot.key());
 
 			if (parameterOpt.isPresent()) {
@@ -53,9 +88,7 @@ public class ScriptGenerator {
 					ensureSpaceSeparator(sb);
 				}
 
-				if (slot.syntaxPrefix() != null) {
-					sb.append(slot.syntaxPrefix());
-				}
+				sb.append(slot.syntaxPrefix());
 
 				if (parameter.isContainer()) {
 					sb.append("\n").append(indent(content));
@@ -66,11 +99,11 @@ public class ScriptGenerator {
 			}
 		}
 
-		if (controlConfig.syntaxEnd() != null) {
+		if (controlPlan.syntaxEnd() != null) {
 			if (sb.length() > 0 && sb.charAt(sb.length() - 1) != '\n') {
 				sb.append("\n");
 			}
-			sb.append(controlConfig.syntaxEnd());
+			sb.append(controlPlan.syntaxEnd());
 		}
 
 		return sb.toString();
@@ -109,13 +142,14 @@ public class ScriptGenerator {
 	}
 
 	private String generateOperator(AstNode node) {
-		if (node.operatorConfig() == null)
+		var plan = plans.operator(node.name())
+				.or(() -> Optional.ofNullable(node.operatorConfig()).map(RenderPlans::compile));
+		if (plan.isEmpty())
 			return "";
 
 		var sb = new StringBuilder();
-		var config = node.operatorConfig();
 
-		for (var slot : config.slots()) {
+		for (var slot : plan.get().steps()) {
 			node.getParameter(slot.key()).ifPresent(parameter -> {
 				String content = renderParameter(parameter, "\n");
 				if (content.isBlank())
@@ -124,15 +158,7 @@ public class ScriptGenerator {
 				if (sb.length() > 0)
 					sb.append(" ");
 
-				if (slot.symbol() != null) {
-					if (AstVocabulary.Values.PLACEMENT_BEFORE.equals(slot.symbolPlacement())) {
-						sb.append(slot.symbol()).append(" ").append(content);
-					} else {
-						sb.append(content).append(" ").append(slot.symbol());
-					}
-				} else {
-					sb.append(content);
-				}
+				sb.append(slot.prefix()).append(content).append(slot.suffix());
 			});
 		}
 		return sb.toString();
@@ -0,0 +1,186 @@
+package br.edu.ifmg.cli.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import br.edu.ifmg.cli.config.SpeculationConfig;
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+
+/**
+ * Executa de antemão, com prioridade baixa e só com folga no sandbox, o último
+ * script gerado de cada sessão. O resultado fica guardado pelo hash do script
+ * e pelo nível, e um {@code /api/run} idêntico o consome sem nova execução.
+ * Qualquer mudança no script da sessão cancela a especulação anterior.
+ *
+ * Só níveis conhecidos pelo servidor (ou o modo livre) são especulados: um
+ * nível definido pelo cliente pode mudar sem que o script mude.
+ *
+ * As execuções usam {@link SandboxRunner#spareCapacity()}: nunca esperam por
+ * capacidade e são interrompidas quando uma execução real precisa dela.
+ */
+public class SpeculativeRunner {
+
+	private static final Logger logger = LoggerFactory.getLogger(SpeculativeRunner.class);
+
+	private static final String NO_LEVEL = "";
+	private static final int QUEUE_CAPACITY = 16;
+	private static final long MAX_AGE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+	private final SandboxRunner runner;
+	private final @Nullable SandboxRunner spareRunner;
+	private final LevelService levelService;
+	private final AdaptiveTimeouts timeouts;
+	private final ThreadPoolExecutor executor;
+	private final Map<String, Speculation> speculations = new ConcurrentHashMap<>();
+
+	public SpeculativeRunner(SpeculationConfig config, SandboxRunner runner, LevelService levelService,
+			AdaptiveTimeouts timeouts) {
+		this.runner = runner;
+		this.spareRunner = runner.spareCapacity().orElse(null);
+		this.levelService = levelService;
+		this.timeouts = timeouts;
+
+		var threadCount = new AtomicInteger();
+		this.executor = new ThreadPoolExecutor(config.threads(), config.threads(), 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+					var thread = new Thread(runnable, "SpeculativeRun-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					thread.setPriority(Thread.MIN_PRIORITY);
+					return thread;
+				}, new ThreadPoolExecutor.AbortPolicy());
+	}
+
+	/**
+	 * Chamado a cada novo script da sessão. {@code levelId} é o nível aberto no
+	 * cliente; o modo livre é {@link LevelService#SANDBOX_LEVEL_ID} ou ausente.
+	 */
+	public void speculate(String sessionId, @Nullable String levelId, String script) {
+		String levelKey = levelKeyFor(levelId);
+		String scriptHash = hash(script);
+
+		Speculation current = speculations.get(sessionId);
+		if (current != null && current.matches(levelKey, scriptHash))
+			return;
+		cancel(sessionId);
+		evictExpired();
+
+		if (spareRunner == null || levelKey == null || script.isBlank() || !runner.hasIdleCapacity())
+			return;
+
+		try {
+			Future<SpeculatedRun> future = executor.submit(() -> execute(levelKey, script));
+			speculations.put(sessionId, new Speculation(levelKey, scriptHash, future, System.currentTimeMillis()));
+		} catch (RejectedExecutionException e) {
+			logger.debug("Fila de especulação cheia; sessão {} ignorada.", sessionId);
+		}
+	}
+
+	/**
+	 * Devolve o resultado especulado se ele corresponde exatamente ao script e
+	 * ao nível pedidos, esperando pela execução se ela ainda estiver em curso.
+	 * Se o prazo adaptativo mudou desde o início da especulação, o resultado é
+	 * descartado: ele não vale para o {@code profile} em que o pedido rodaria.
+	 */
+	public Optional<SpeculatedRun> claim(@Nullable String sessionId, @Nullable String levelId, String script,
+			ResourceProfile profile) {
+		if (sessionId == null)
+			return Optional.empty();
+
+		Speculation speculation = speculations.get(sessionId);
+		String levelKey = levelId != null ? levelId : NO_LEVEL;
+		if (speculation == null || !speculation.matches(levelKey, hash(script)))
+			return Optional.empty();
+		speculations.remove(sessionId, speculation);
+
+		try {
+			long waitMillis = profile.timeoutMillis() + TimeUnit.SECONDS.toMillis(ResourceScheduler.MAX_WAIT_SECONDS);
+			SpeculatedRun run = speculation.future().get(waitMillis, TimeUnit.MILLISECONDS);
+			return run.profile().equals(profile) ? Optional.of(run) : Optional.empty();
+		} catch (CancellationException | ExecutionException | TimeoutException e) {
+			return Optional.empty();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return Optional.empty();
+		}
+	}
+
+	public void cancel(String sessionId) {
+		Speculation previous = speculations.remove(sessionId);
+		if (previous != null)
+			previous.future().cancel(true);
+	}
+
+	private SpeculatedRun execute(String levelKey, String script) {
+		var level = NO_LEVEL.equals(levelKey) ? null : levelService.getLevel(levelKey).orElse(null);
+		var verification = level != null ? levelService.getVerification(levelKey).orElse(null) : null;
+		var profile = profileFor(levelKey);
+		long startedAt = System.nanoTime();
+		var result = spareRunner.runLevel(script, level, verification, profile);
+		return new SpeculatedRun(result, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), profile);
+	}
+
+	private ResourceProfile profileFor(String levelKey) {
+		if (NO_LEVEL.equals(levelKey))
+			return levelService.getDefaultProfile();
+		return timeouts.apply(levelKey, levelService.getResourceProfile(levelKey));
+	}
+
+	private @Nullable String levelKeyFor(@Nullable String levelId) {
+		if (levelId == null || levelId.isBlank() || LevelService.SANDBOX_LEVEL_ID.equals(levelId))
+			return NO_LEVEL;
+		return levelService.getLevel(levelId).isPresent() ? levelId : null;
+	}
+
+	private void evictExpired() {
+		long threshold = System.currentTimeMillis() - MAX_AGE_MILLIS;
+		speculations.values().removeIf(speculation -> {
+			if (speculation.createdAtMillis() >= threshold)
+				return false;
+			speculation.future().cancel(true);
+			return true;
+		});
+	}
+
+	private static String hash(String script) {
+		try {
+			return HexFormat.of().formatHex(
+					MessageDigest.getInstance("SHA-256").digest(script.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * {@code executionMillis} é o tempo da execução em si, sem a espera de quem
+	 * a consome; {@code profile} é o perfil (e prazo) com que ela rodou.
+	 */
+	public record SpeculatedRun(ExecutionResult result, long executionMillis, ResourceProfile profile) {
+	}
+
+	private record Speculation(String levelKey, String scriptHash, Future<SpeculatedRun> future,
+			long createdAtMillis) {
+
+		boolean matches(String otherLevelKey, String otherScriptHash) {
+			return levelKey.equals(otherLevelKey) && scriptHash.equals(otherScriptHash);
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystemAlreadyExistsException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Frontend estático (build do Vite) carregado inteiro em memória na
+ * inicialização, com ETag e variantes comprimidas prontas. As variantes
+ * {@code .gz}/{@code .br} geradas pelo build são usadas quando existem; sem
+ * elas, o gzip é calculado aqui uma única vez (o JDK não tem encoder brotli).
+ *
+ * Arquivos em {@code assets/} têm hash no nome e nunca mudam, por isso são
+ * servidos como {@code immutable}; os demais são revalidados pela ETag.
+ */
+public final class StaticBundle {
+
+	private static final Logger logger = LoggerFactory.getLogger(StaticBundle.class);
+
+	private static final String HASHED_ASSETS_PREFIX = "assets/";
+	private static final String IMMUTABLE_CACHE = "public, max-age=31536000, immutable";
+	private static final String REVALIDATE_CACHE = "no-cache";
+	private static final int MIN_COMPRESS_BYTES = 1024;
+
+	private static final Map<String, String> CONTENT_TYPES = Map.ofEntries(
+			Map.entry("html", "text/html; charset=utf-8"),
+			Map.entry("js", "text/javascript; charset=utf-8"),
+			Map.entry("mjs", "text/javascript; charset=utf-8"),
+			Map.entry("css", "text/css; charset=utf-8"),
+			Map.entry("json", "application/json; charset=utf-8"),
+			Map.entry("webmanifest", "application/manifest+json; charset=utf-8"),
+			Map.entry("svg", "image/svg+xml"),
+			Map.entry("txt", "text/plain; charset=utf-8"),
+			Map.entry("xml", "application/xml; charset=utf-8"),
+			Map.entry("png", "image/png"),
+			Map.entry("jpg", "image/jpeg"),
+			Map.entry("jpeg", "image/jpeg"),
+			Map.entry("gif", "image/gif"),
+			Map.entry("webp", "image/webp"),
+			Map.entry("ico", "image/x-icon"),
+			Map.entry("woff", "font/woff"),
+			Map.entry("woff2", "font/woff2"),
+			Map.entry("wasm", "application/wasm"));
+
+	private static final Set<String> COMPRESSIBLE = Set.of("html", "js", "mjs", "css", "json", "webmanifest", "svg",
+			"txt", "xml");
+
+	/** Uma representação pronta para envio: corpo e ETag próprios. */
+	public record Variant(byte[] body, String etag) {
+	}
+
+	public record Asset(String contentType, String cacheControl, Variant identity, @Nullable Variant gzip,
+			@Nullable Variant brotli) {
+	}
+
+	private final Map<String, Asset> assets;
+
+	private StaticBundle(Map<String, Asset> assets) {
+		this.assets = Map.copyOf(assets);
+	}
+
+	/** Caminho relativo, sem a barra inicial; {@code ""} é o index.html. */
+	public Optional<Asset> find(String relativePath) {
+		return Optional.ofNullable(assets.get(relativePath.isEmpty() ? "index.html" : relativePath));
+	}
+
+	public int size() {
+		return assets.size();
+	}
+
+	public static StaticBundle loadFromClasspath(String folder) {
+		URL root = StaticBundle.class.getResource(folder);
+		if (root == null) {
+			logger.warn("[StaticBundle] Pasta {} ausente no classpath; frontend não será servido.", folder);
+			return new StaticBundle(Map.of());
+		}
+
+		try {
+			URI uri = root.toURI();
+			if (!"jar".equals(uri.getScheme()))
+				return load(Path.of(uri));
+
+			try (FileSystem jar = FileSystems.newFileSystem(uri, Map.of())) {
+				return load(jar.getPath(folder));
+			} catch (FileSystemAlreadyExistsException e) {
+				return load(FileSystems.getFileSystem(uri).getPath(folder));
+			}
+		} catch (IOException | URISyntaxException e) {
+			throw new IllegalStateException("Falha ao carregar o frontend de " + folder, e);
+		}
+	}
+
+	public static StaticBundle load(Path directory) throws IOException {
+		long startedAt = System.nanoTime();
+		var raw = new HashMap<String, byte[]>();
+		try (Stream<Path> files = Files.walk(directory)) {
+			for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator)
+				raw.put(directory.relativize(file).toString().replace('\\', '/'), Files.readAllBytes(file));
+		}
+
+		var assets = new HashMap<String, Asset>();
+		long identityBytes = 0;
+		for (var entry : raw.entrySet()) {
+			String path = entry.getKey();
+			if (isPrecompressedVariant(path, raw))
+				continue;
+			Asset asset = buildAsset(path, entry.getValue(), raw.get(path + ".gz"), raw.get(path + ".br"));
+			assets.put(path, asset);
+			identityBytes += entry.getValue().length;
+		}
+
+		logger.info("[StaticBundle] {} arquivo(s), {} KB em memória, carregados em {} ms.", assets.size(),
+				identityBytes / 1024, (System.nanoTime() - startedAt) / 1_000_000);
+		return new StaticBundle(assets);
+	}
+
+	private static boolean isPrecompressedVariant(String path, Map<String, byte[]> raw) {
+		return (path.endsWith(".gz") && raw.containsKey(path.substring(0, path.length() - 3)))
+				|| (path.endsWith(".br") && raw.containsKey(path.substring(0, path.length() - 3)));
+	}
+
+	private static Asset buildAsset(String path, byte[] body, @Nullable byte[] prebuiltGzip,
+			@Nullable byte[] prebuiltBrotli) {
+		String extension = extensionOf(path);
+		String etag = etagOf(body);
+		var identity = new Variant(body, "\"" + etag + "\"");
+
+		Variant gzip = null;
+		Variant brotli = null;
+		if (COMPRESSIBLE.contains(extension) && body.length >= MIN_COMPRESS_BYTES) {
+			byte[] gzipped = prebuiltGzip != null ? prebuiltGzip : gzip(body);
+			if (gzipped.length < body.length)
+				gzip = new Variant(gzipped, "\"" + etag + "-gz\"");
+			if (prebuiltBrotli != null && prebuiltBrotli.length < body.length)
+				brotli = new Variant(prebuiltBrotli, "\"" + etag + "-br\"");
+		}
+
+		return new Asset(CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"),
+				path.startsWith(HASHED_ASSETS_PREFIX) ? IMMUTABLE_CACHE : REVALIDATE_CACHE, identity, gzip, brotli);
+	}
+
+	private static String extensionOf(String path) {
+		int dot = path.lastIndexOf('.');
+		return dot < 0 ? "" : path.substring(dot + 1).toLowerCase(Locale.ROOT);
+	}
+
+	private static String etagOf(byte[] body) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+			return HexFormat.of().formatHex(digest, 0, 16);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] gzip(byte[] body) {
+		var output = new ByteArrayOutputStream(body.length / 2);
+		try (var gzip = new GZIPOutputStream(output)) {
+			gzip.write(body);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+		return output.toByteArray();
+	}
+}
@@ -0,0 +1,138 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+
+/**
+ * Grava os traces no formato JSON de eventos do Chrome (eventos {@code "X"}),
+ * que abre direto no Perfetto ou em {@code chrome://tracing}. O arquivo é um
+ * array sem o {@code ]} final, como o formato permite, para que cada lote
+ * seja só um append. A requisição apenas enfileira; com a fila cheia o trace
+ * é descartado.
+ */
+public class TraceFileWriter implements AutoCloseable {
+
+	private static final Logger logger = LoggerFactory.getLogger(TraceFileWriter.class);
+
+	private static final int QUEUE_CAPACITY = 4096;
+	private static final int MAX_BATCH = 256;
+	private static final long POLL_INTERVAL_MILLIS = 200;
+	private static final Gson gson = new Gson();
+
+	private final BufferedWriter output;
+	private final BlockingQueue<CompletedTrace> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	private final AtomicLong dropped = new AtomicLong();
+	private final Thread writerThread;
+	private final long processId = ProcessHandle.current().pid();
+
+	private volatile boolean running = true;
+
+	public record CompletedTrace(RequestTrace trace, int status) {}
+
+	public TraceFileWriter(Path file) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null)
+			Files.createDirectories(parent);
+
+		boolean isNew = !Files.exists(file) || Files.size(file) == 0;
+		this.output = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND);
+		if (isNew) {
+			output.write("[\n");
+			output.flush();
+		}
+
+		this.writerThread = new Thread(this::writeLoop, "TraceFileWriter");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	public void append(RequestTrace trace, int status) {
+		if (!queue.offer(new CompletedTrace(trace, status)) && dropped.incrementAndGet() % 1000 == 1)
+			logger.warn("[Tracing] Fila cheia, traces descartados até agora: {}", dropped.get());
+	}
+
+	@Override
+	public void close() {
+		running = false;
+		try {
+			writerThread.join(TimeUnit.SECONDS.toMillis(5));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void writeLoop() {
+		var batch = new ArrayList<CompletedTrace>(MAX_BATCH);
+		try {
+			while (running || !queue.isEmpty()) {
+				CompletedTrace first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null)
+					continue;
+				batch.add(first);
+				queue.drainTo(batch, MAX_BATCH - 1);
+
+				for (CompletedTrace completed : batch)
+					writeEvents(completed);
+				output.flush();
+				batch.clear();
+			}
+		} catch (IOException e) {
+			logger.error("[Tracing] Falha ao gravar traces, gravação encerrada: {}", e.getMessage());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			try {
+				output.close();
+			} catch (IOException e) {
+				logger.warn("[Tracing] Falha ao fechar arquivo de traces: {}", e.getMessage());
+			}
+		}
+	}
+
+	private void writeEvents(CompletedTrace completed) throws IOException {
+		RequestTrace trace = completed.trace();
+		long threadId = trace.getRequestId().hashCode() & 0x7fffffffL;
+
+		var requestArgs = new LinkedHashMap<String, Object>();
+		requestArgs.put("requestId", trace.getRequestId());
+		requestArgs.put("status", completed.status());
+		writeEvent(trace.getName(), "request", trace, trace.getStartNanos(), trace.getEndNanos(), threadId,
+				requestArgs);
+
+		Map<String, Object> spanArgs = Map.of("requestId", trace.getRequestId());
+		for (RequestTrace.SpanRecord span : trace.getSpans())
+			writeEvent(span.name(), "span", trace, span.startNanos(), span.endNanos(), threadId, spanArgs);
+	}
+
+	private void writeEvent(String name, String category, RequestTrace trace, long startNanos, long endNanos,
+			long threadId, Map<String, Object> args) throws IOException {
+		var event = new LinkedHashMap<String, Object>();
+		event.put("name", name);
+		event.put("cat", category);
+		event.put("ph", "X");
+		event.put("ts", trace.toEpochMicros(startNanos));
+		event.put("dur", Math.max(0, TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos)));
+		event.put("pid", processId);
+		event.put("tid", threadId);
+		event.put("args", args);
+		output.write(gson.toJson(event));
+		output.write(",\n");
+	}
+}
@@ -0,0 +1,225 @@
+package br.edu.ifmg.cli.services;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import br.edu.ifmg.cli.config.WorkerPoolConfig;
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.WorkerHealth;
+import br.edu.ifmg.cli.models.WorkerRunRequest;
+import br.edu.ifmg.cli.models.WorkerStatus;
+
+public class WorkerPool implements ContainerExecutor {
+
+	public static final String TOKEN_HEADER = "X-Worker-Token";
+	public static final String EXECUTE_PATH = "/api/worker/execute";
+	public static final String HEALTH_PATH = "/api/worker/health";
+
+	private static final Logger logger = LoggerFactory.getLogger(WorkerPool.class);
+	private static final Duration HEALTH_TIMEOUT = Duration.ofSeconds(2);
+
+	private final List<RemoteWorker> workers = new CopyOnWriteArrayList<>();
+	private final WorkerPoolConfig config;
+	private final @Nullable ContainerExecutor fallback;
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(HEALTH_TIMEOUT).build();
+	private final Gson gson = new Gson();
+	private final ScheduledExecutorService healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		var thread = new Thread(runnable, "WorkerHealthCheck");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public WorkerPool(WorkerPoolConfig config, @Nullable ContainerExecutor fallback) {
+		this.config = config;
+		this.fallback = fallback;
+		config.workerUrls().forEach(this::register);
+	}
+
+	public void start() {
+		healthChecker.scheduleWithFixedDelay(this::checkAll, 0, config.healthCheckIntervalSeconds(), TimeUnit.SECONDS);
+		logger.info("[WorkerPool] {} worker(s) configurado(s), fallback local: {}", workers.size(), fallback != null);
+	}
+
+	public void register(String url) {
+		String normalizedUrl = url.strip().replaceAll("/+$", "");
+		if (normalizedUrl.isEmpty())
+			return;
+
+		boolean alreadyKnown = workers.stream().anyMatch(worker -> worker.url.equals(normalizedUrl));
+		if (alreadyKnown)
+			return;
+
+		var worker = new RemoteWorker(normalizedUrl);
+		workers.add(worker);
+		logger.info("[WorkerPool] Worker registrado: {}", normalizedUrl);
+		healthChecker.execute(() -> checkHealth(worker));
+	}
+
+	public List<WorkerStatus> getStatus() {
+		return workers.stream().map(RemoteWorker::toStatus).toList();
+	}
+
+	@Override
+	public ExecutionResult execute(String fullScript, ResourceProfile profile) {
+		Set<RemoteWorker> attempted = new HashSet<>();
+		String body = gson.toJson(new WorkerRunRequest(fullScript, profile));
+		var runTimeout = Duration.ofMillis(profile.timeoutMillis())
+				.plusSeconds(ResourceScheduler.MAX_WAIT_SECONDS + 5);
+
+		RemoteWorker worker;
+		while ((worker = selectLeastLoaded(attempted)) != null) {
+			attempted.add(worker);
+			try (var span = RequestTrace.span("worker")) {
+				return worker.run(body, runTimeout);
+			} catch (ConnectException | HttpConnectTimeoutException e) {
+				// O pedido não chegou ao worker: é seguro tentar em outro.
+				worker.markUnhealthy();
+				logger.warn("[WorkerPool] Falha ao conectar no worker {} ({}), tentando outro.", worker.url, e.getMessage());
+			} catch (HttpTimeoutException e) {
+				// O script pode estar rodando lá: repetir em outro worker só multiplica a carga.
+				logger.warn("[WorkerPool] Worker {} não respondeu em {} ms.", worker.url, runTimeout.toMillis());
+				return new ExecutionResult("", "⏱️ Tempo esgotado! Seu comando demorou muito.", 124);
+			} catch (IOException e) {
+				worker.markUnhealthy();
+				logger.error("[WorkerPool] Falha no worker {} após o envio do script: {}", worker.url, e.getMessage());
+				return new ExecutionResult("", "\n[ERRO SISTEMA] Falha no worker de sandbox: " + e.getMessage(), 125);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return new ExecutionResult("", "Execução interrompida.", 1);
+			}
+		}
+
+		if (fallback != null)
+			return fallback.execute(fullScript, profile);
+
+		logger.error("[WorkerPool] Nenhum worker saudável disponível.");
+		return new ExecutionResult("", "Nenhum worker de sandbox disponível no momento. Tente novamente.", 1);
+	}
+
+	@Override
+	public boolean hasIdleCapacity() {
+		return workers.stream().anyMatch(worker -> worker.healthy && worker.load() < 0.5);
+	}
+
+	private RemoteWorker selectLeastLoaded(Set<RemoteWorker> attempted) {
+		return workers.stream()
+				.filter(worker -> worker.healthy && !attempted.contains(worker))
+				.min(Comparator.comparingDouble(RemoteWorker::load).thenComparingInt(worker -> worker.inFlight.get()))
+				.orElse(null);
+	}
+
+	private void checkAll() {
+		workers.forEach(this::checkHealth);
+	}
+
+	private void checkHealth(RemoteWorker worker) {
+		try {
+			var request = authorized(HttpRequest.newBuilder(URI.create(worker.url + HEALTH_PATH)))
+					.timeout(HEALTH_TIMEOUT).GET().build();
+			var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+
+			if (response.statusCode() != 200)
+				throw new IOException("HTTP " + response.statusCode());
+
+			var health = gson.fromJson(response.body(), WorkerHealth.class);
+			worker.capacity = Math.max(1, health.capacity());
+			if (!worker.healthy)
+				logger.info("[WorkerPool] Worker disponível: {} (capacidade {})", worker.url, worker.capacity);
+			worker.healthy = true;
+		} catch (Exception e) {
+			if (worker.healthy)
+				logger.warn("[WorkerPool] Worker indisponível: {} ({})", worker.url, e.getMessage());
+			worker.healthy = false;
+		}
+	}
+
+	private HttpRequest.Builder authorized(HttpRequest.Builder builder) {
+		return builder.header(TOKEN_HEADER, config.token());
+	}
+
+	/** Compara em tempo constante; token vazio nunca autoriza. */
+	public static boolean isValidToken(String expected, @Nullable String received) {
+		if (expected.isBlank() || received == null)
+			return false;
+		return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), received.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private final class RemoteWorker {
+		private final String url;
+		private final AtomicInteger inFlight = new AtomicInteger();
+		private final AtomicLong completedRuns = new AtomicLong();
+		private final AtomicLong failedRuns = new AtomicLong();
+		private volatile boolean healthy = false;
+		private volatile int capacity = 1;
+
+		private RemoteWorker(String url) {
+			this.url = url;
+		}
+
+		private double load() {
+			return (double) inFlight.get() / capacity;
+		}
+
+		private ExecutionResult run(String body, Duration runTimeout) throws IOException, InterruptedException {
+			var request = authorized(HttpRequest.newBuilder(URI.create(url + EXECUTE_PATH)))
+					.timeout(runTimeout)
+					.header("Content-Type", "application/json")
+					.POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8))
+					.build();
+
+			inFlight.incrementAndGet();
+			try {
+				var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+				if (response.statusCode() != 200)
+					throw new IOException("HTTP " + response.statusCode());
+
+				var result = gson.fromJson(response.body(), ExecutionResult.class);
+				completedRuns.incrementAndGet();
+				return result;
+			} catch (JsonParseException e) {
+				failedRuns.incrementAndGet();
+				throw new IOException("Resposta inválida do worker", e);
+			} catch (IOException e) {
+				failedRuns.incrementAndGet();
+				throw e;
+			} finally {
+				inFlight.decrementAndGet();
+			}
+		}
+
+		private void markUnhealthy() {
+			healthy = false;
+		}
+
+		private WorkerStatus toStatus() {
+			return new WorkerStatus(url, healthy, inFlight.get(), capacity, completedRuns.get(), failedRuns.get());
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package br.edu.ifmg.cli.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifmg.cli.config.AstLimitsConfig;
+import br.edu.ifmg.cli.models.AstPatchRequest;
+import br.edu.ifmg.cli.server.GsonJsonMapper;
+import br.edu.ifmg.cli.services.AstBudgetExceededException;
+import br.edu.ifmg.cli.services.AstCostEstimator;
+import io.javalin.http.Context;
+
+/**
+ * {@code isPayloadTooLarge()} decide entre 413 e 422 nos controllers.
+ */
+class AstRequestReaderTest {
+
+	private static final int MAX_BODY_BYTES = 64;
+
+	private final AstRequestReader reader = new AstRequestReader(
+			new AstCostEstimator(new AstLimitsConfig(MAX_BODY_BYTES, 100, 2, 1024, 10)));
+
+	@Test
+	void readsBodyExactlyAtLimit() throws Exception {
+		String json = padded("{\"baseVersion\":7,\"patches\":[]}", MAX_BODY_BYTES);
+
+		var request = reader.read(context(json, json.length()), AstPatchRequest.class);
+
+		assertEquals(7L, request.baseVersion());
+	}
+
+	@Test
+	void declaredLengthOverLimitIs413() {
+		var error = assertThrows(AstBudgetExceededException.class,
+				() -> reader.read(context("{}", MAX_BODY_BYTES + 1), AstPatchRequest.class));
+
+		assertTrue(error.isPayloadTooLarge());
+	}
+
+	@Test
+	void chunkedBodyOverLimitIs413() {
+		String json = padded("{\"baseVersion\":1}", MAX_BODY_BYTES + 1);
+
+		var error = assertThrows(AstBudgetExceededException.class,
+				() -> reader.read(context(json, -1), AstPatchRequest.class));
+
+		assertTrue(error.isPayloadTooLarge());
+	}
+
+	@Test
+	void nestingOverLimitIs422() {
+		// maxDepth 2: até 2 * 4 + 16 = 24 níveis de JSON.
+		String json = "{\"x\":" + "[".repeat(24) + "]".repeat(24) + "}";
+
+		var error = assertThrows(AstBudgetExceededException.class,
+				() -> reader.read(context(json, -1), AstPatchRequest.class));
+
+		assertFalse(error.isPayloadTooLarge());
+	}
+
+	private static String padded(String json, int length) {
+		return json.substring(0, json.length() - 1) + " ".repeat(length - json.length()) + "}";
+	}
+
+	private static Context context(String body, int contentLength) {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		var jsonMapper = new GsonJsonMapper();
+		return (Context) Proxy.newProxyInstance(Context.class.getClassLoader(), new Class<?>[] { Context.class },
+				(proxy, method, args) -> switch (method.getName()) {
+				case "contentLength" -> contentLength;
+				case "bodyInputStream" -> new ByteArrayInputStream(bytes);
+				case "jsonMapper" -> jsonMapper;
+				default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+}
@@ -0,0 +1,42 @@
+package br.edu.ifmg.cli.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class StaticAssetControllerTest {
+
+	private static final String ETAG = "\"abc123\"";
+
+	@Test
+	void acceptsListedCodings() {
+		assertTrue(StaticAssetController.accepts("gzip, deflate, br", "br"));
+		assertTrue(StaticAssetController.accepts("GZIP;q=0.5", "gzip"));
+		assertFalse(StaticAssetController.accepts("gzip", "br"));
+		assertFalse(StaticAssetController.accepts(null, "gzip"));
+	}
+
+	@Test
+	void zeroQualityRefusesCoding() {
+		assertFalse(StaticAssetController.accepts("br;q=0, gzip", "br"));
+		assertFalse(StaticAssetController.accepts("br; q=0.000", "br"));
+		assertTrue(StaticAssetController.accepts("br;q=0.01", "br"));
+		assertTrue(StaticAssetController.accepts("br;q=0, gzip", "gzip"));
+	}
+
+	@Test
+	void matchesStrongWeakAndWildcardEtags() {
+		assertTrue(StaticAssetController.matchesEtag(ETAG, ETAG));
+		assertTrue(StaticAssetController.matchesEtag("W/" + ETAG, ETAG));
+		assertTrue(StaticAssetController.matchesEtag("\"other\", W/" + ETAG, ETAG));
+		assertTrue(StaticAssetController.matchesEtag("*", ETAG));
+	}
+
+	@Test
+	void rejectsOtherEtags() {
+		assertFalse(StaticAssetController.matchesEtag("\"other\"", ETAG));
+		assertFalse(StaticAssetController.matchesEtag("W/\"other\"", ETAG));
+		assertFalse(StaticAssetController.matchesEtag(null, ETAG));
+	}
+}
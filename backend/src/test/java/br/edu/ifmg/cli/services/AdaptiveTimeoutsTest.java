@@ -0,0 +1,84 @@
+package br.edu.ifmg.cli.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifmg.cli.config.AdaptiveTimeoutConfig;
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.ResourceUsage;
+
+class AdaptiveTimeoutsTest {
+
+	private static final String LEVEL = "level-01";
+	private static final AdaptiveTimeoutConfig CONFIG = new AdaptiveTimeoutConfig(true, 2000, 0, 99, 3, 20);
+
+	@Test
+	void usesCeilingUntilEnoughSamples() {
+		var timeouts = new AdaptiveTimeouts(CONFIG);
+		for (int i = 0; i < 19; i++)
+			timeouts.record(LEVEL, completed(100));
+
+		assertEquals(ResourceProfile.STANDARD.timeoutMillis(), deadline(timeouts));
+	}
+
+	@Test
+	void infiniteLoopsDoNotRatchetTheDeadline() {
+		var timeouts = new AdaptiveTimeouts(CONFIG);
+		var random = new Random(42);
+		long legitimateMax = 0;
+
+		// Cerca de 5% de laços infinitos, cada um gravado com o prazo em vigor.
+		for (int i = 0; i < 1000; i++) {
+			if (random.nextInt(100) < 5) {
+				var result = new ExecutionResult("", "⏱️ Tempo esgotado!", 124,
+						new ResourceUsage(null, null, deadline(timeouts), null));
+				timeouts.record(LEVEL, result);
+			} else {
+				long millis = 400 + random.nextInt(800);
+				legitimateMax = Math.max(legitimateMax, millis);
+				timeouts.record(LEVEL, completed(millis));
+			}
+		}
+
+		int deadline = deadline(timeouts);
+		assertTrue(deadline >= legitimateMax * 3, "prazo " + deadline + " abaixo do p99 legítimo × 3");
+		assertTrue(deadline <= legitimateMax * 3 * 1.15, "prazo " + deadline + " subiu além do p99 legítimo");
+		assertTrue(deadline < ResourceProfile.STANDARD.timeoutMillis());
+	}
+
+	@Test
+	void learnsFromScriptTimeNotContainerStartup() {
+		var timeouts = new AdaptiveTimeouts(CONFIG);
+		for (int i = 0; i < 100; i++) {
+			timeouts.record(LEVEL, new ExecutionResult("", "", 0, new ResourceUsage(null, null, 3000, 1000L)));
+		}
+
+		int deadline = deadline(timeouts);
+		assertTrue(deadline >= 3000 && deadline < 4000, "prazo " + deadline);
+	}
+
+	@Test
+	void ignoresSystemErrorsButKeepsCommandNotFound() {
+		var timeouts = new AdaptiveTimeouts(CONFIG);
+		for (int i = 0; i < 50; i++) {
+			timeouts.record(LEVEL, new ExecutionResult("", "", 125, new ResourceUsage(null, null, 9000, 9000L)));
+			timeouts.record(LEVEL, new ExecutionResult("", "", 127, new ResourceUsage(null, null, 900, 900L)));
+		}
+
+		int deadline = deadline(timeouts);
+		assertTrue(deadline >= 2700 && deadline < 3200, "prazo " + deadline);
+	}
+
+	private static ExecutionResult completed(long millis) {
+		return new ExecutionResult("", "", 0, new ResourceUsage(null, null, millis + 500, millis));
+	}
+
+	private static int deadline(AdaptiveTimeouts timeouts) {
+		return timeouts.apply(LEVEL, ResourceProfile.STANDARD).timeoutMillis();
+	}
+}
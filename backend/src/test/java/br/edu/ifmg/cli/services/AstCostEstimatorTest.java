@@ -0,0 +1,94 @@
+package br.edu.ifmg.cli.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifmg.cli.config.AstLimitsConfig;
+import br.edu.ifmg.cli.models.ast.AstNode;
+import br.edu.ifmg.cli.models.ast.AstParameter;
+import br.edu.ifmg.cli.models.ast.AstVocabulary;
+
+class AstCostEstimatorTest {
+
+	private static final int MAX_DEPTH = 3;
+	// Profundidade * 4 níveis de JSON por nó + 16 de envelope.
+	private static final int MAX_JSON_NESTING = MAX_DEPTH * 4 + 16;
+
+	private final AstCostEstimator estimator = new AstCostEstimator(new AstLimitsConfig(1024, 4, MAX_DEPTH, 64, 10));
+
+	@Test
+	void estimateCountsNodesDepthAndUtf8Literals() {
+		var cost = estimator.estimate(script(command("ls"), command("pwd")));
+
+		assertEquals(3, cost.nodes());
+		assertEquals(2, cost.depth());
+		// "script" + "body" + "command" + "ls" + "command" + "pwd"
+		assertEquals(6 + 4 + 7 + 2 + 7 + 3, cost.literalBytes());
+		// "ç" e "ã" ocupam dois bytes cada em UTF-8.
+		assertEquals(7 + 6, estimator.estimate(command("ação")).literalBytes());
+	}
+
+	@Test
+	void checkAcceptsLimitsExactlyAndRejectsOneMore() {
+		estimator.check(script(command("a"), command("b"), command("c")));
+		assertThrows(AstBudgetExceededException.class,
+				() -> estimator.check(script(command("a"), command("b"), command("c"), command("d"))));
+
+		estimator.check(nested(MAX_DEPTH));
+		assertThrows(AstBudgetExceededException.class, () -> estimator.check(nested(MAX_DEPTH + 1)));
+
+		estimator.check(command("x".repeat(64 - 7)));
+		var error = assertThrows(AstBudgetExceededException.class, () -> estimator.check(command("x".repeat(64 - 6))));
+		assertFalse(error.isPayloadTooLarge());
+	}
+
+	@Test
+	void incrementalCheckMatchesFullEstimate() {
+		var shared = command("ls");
+		var computed = new IdentityHashMap<AstNode, AstCostEstimator.AstCost>();
+		var first = estimator.check(script(shared), Map.of(), computed);
+
+		var known = new IdentityHashMap<>(computed);
+		var next = script(shared, command("pwd"));
+		var incremental = estimator.check(next, known, new IdentityHashMap<>());
+
+		assertEquals(estimator.estimate(next), incremental);
+		assertEquals(2, first.nodes());
+	}
+
+	@Test
+	void jsonNestingJustUnderLimitPasses() {
+		estimator.checkJsonNesting("[".repeat(MAX_JSON_NESTING) + "]".repeat(MAX_JSON_NESTING));
+		estimator.checkJsonNesting("{\"a\":\"" + "[{".repeat(100) + "\\\"\"}");
+	}
+
+	@Test
+	void jsonNestingJustOverLimitFails() {
+		var error = assertThrows(AstBudgetExceededException.class, () -> estimator
+				.checkJsonNesting("[".repeat(MAX_JSON_NESTING + 1) + "]".repeat(MAX_JSON_NESTING + 1)));
+		assertFalse(error.isPayloadTooLarge());
+	}
+
+	private static AstNode nested(int depth) {
+		AstNode node = command("ls");
+		for (int i = 1; i < depth; i++)
+			node = script(node);
+		return node;
+	}
+
+	private static AstNode script(AstNode... commands) {
+		return new AstNode(AstVocabulary.Nodes.SCRIPT, "", List.of(new AstParameter("body", "", List.of(commands))),
+				null, null);
+	}
+
+	private static AstNode command(String name) {
+		return new AstNode(AstVocabulary.Nodes.COMMAND, name, List.of(), null, null);
+	}
+}
@@ -0,0 +1,79 @@
+package br.edu.ifmg.cli.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifmg.cli.config.AstLimitsConfig;
+import br.edu.ifmg.cli.models.ast.AstNode;
+import br.edu.ifmg.cli.models.ast.AstParameter;
+import br.edu.ifmg.cli.models.ast.AstPatch;
+import br.edu.ifmg.cli.models.ast.AstPathSegment;
+import br.edu.ifmg.cli.models.ast.AstVocabulary;
+
+class AstSessionTest {
+
+	private static final String BODY = "body";
+
+	@Test
+	void patchesAreMeasuredAgainstTheWholeTree() {
+		var session = session(4);
+		session.reset(script(command("ls"), command("pwd")));
+
+		var first = session.applyPatches(1, List.of(insert(2, command("whoami"))));
+		assertEquals(2L, first.version());
+
+		assertThrows(AstBudgetExceededException.class,
+				() -> session.applyPatches(2, List.of(insert(3, command("date")))));
+	}
+
+	@Test
+	void rejectedPatchLeavesSessionUsable() {
+		var session = session(4);
+		session.reset(script(command("ls"), command("pwd"), command("whoami")));
+
+		assertThrows(AstBudgetExceededException.class,
+				() -> session.applyPatches(1, List.of(insert(0, command("date")))));
+
+		var replaced = session.applyPatches(1, List.of(replace(0, command("date"))));
+		assertEquals("date\npwd\nwhoami", replaced.script());
+		assertEquals(2L, replaced.version());
+	}
+
+	@Test
+	void removedNodesFreeBudget() {
+		var session = session(4);
+		session.reset(script(command("ls"), command("pwd"), command("whoami")));
+
+		session.applyPatches(1, List.of(new AstPatch(AstVocabulary.PatchOps.REMOVE,
+				List.of(new AstPathSegment(BODY, 0)), null)));
+		var result = session.applyPatches(2, List.of(insert(2, command("date"))));
+
+		assertEquals("pwd\nwhoami\ndate", result.script());
+	}
+
+	private static AstSession session(int maxNodes) {
+		var estimator = new AstCostEstimator(new AstLimitsConfig(524_288, maxNodes, 64, 65_536, 10));
+		return new AstSession(estimator, RenderPlans.load());
+	}
+
+	private static AstNode script(AstNode... commands) {
+		return new AstNode(AstVocabulary.Nodes.SCRIPT, "", List.of(new AstParameter(BODY, "", List.of(commands))),
+				null, null);
+	}
+
+	private static AstNode command(String name) {
+		return new AstNode(AstVocabulary.Nodes.COMMAND, name, List.of(), null, null);
+	}
+
+	private static AstPatch insert(int index, AstNode node) {
+		return new AstPatch(AstVocabulary.PatchOps.INSERT, List.of(new AstPathSegment(BODY, index)), node);
+	}
+
+	private static AstPatch replace(int index, AstNode node) {
+		return new AstPatch(AstVocabulary.PatchOps.REPLACE, List.of(new AstPathSegment(BODY, index)), node);
+	}
+}
@@ -0,0 +1,113 @@
+package br.edu.ifmg.cli.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.VerificationRule;
+import br.edu.ifmg.cli.models.VerificationRule.Types;
+
+class CompiledVerificationTest {
+
+	private static final Pattern PROBE_MARKER = Pattern.compile("__probe_[0-9a-f]+__");
+
+	@Test
+	void outputRulesNeedNoProbe() {
+		var verification = CompiledVerification.compile(List.of(
+				rule(Types.OUTPUT_CONTAINS, "ola", null, "faltou ola"),
+				rule(Types.OUTPUT_NOT_CONTAINS, "erro", null, "apareceu erro"),
+				rule(Types.OUTPUT_MATCHES, "^fim$", null, "faltou fim")));
+
+		assertFalse(verification.requiresProbe());
+		assertEquals(Optional.empty(), verification.evaluate("ola\nfim\n", null));
+		assertEquals(Optional.of("faltou ola"), verification.evaluate("fim\n", null));
+		assertEquals(Optional.of("apareceu erro"), verification.evaluate("ola erro\nfim", null));
+		assertEquals(Optional.of("faltou fim"), verification.evaluate("ola\nfim!", null));
+	}
+
+	@Test
+	void probeResultsFollowRuleOrder() {
+		var verification = CompiledVerification.compile(List.of(
+				rule(Types.WORKING_DIRECTORY_MATCHES, "/projetos$", null, "pasta errada"),
+				rule(Types.FILE_EXISTS, null, "a.txt", "sem a.txt"),
+				rule(Types.DIRECTORY_EXISTS, null, "docs", "sem docs")));
+
+		assertTrue(verification.requiresProbe());
+		assertEquals(Optional.empty(), verification.evaluate("", "/home/aluno/projetos\n11\n"));
+		assertEquals(Optional.of("pasta errada"), verification.evaluate("", "/home/aluno\n11\n"));
+		assertEquals(Optional.of("sem docs"), verification.evaluate("", "/home/aluno/projetos\n10\n"));
+		assertEquals(Optional.of("pasta errada"), verification.evaluate("", null));
+	}
+
+	@Test
+	void missingMessageUsesDefault() {
+		var verification = CompiledVerification.compile(List.of(rule(Types.FILE_ABSENT, null, "lixo", null)));
+
+		assertEquals(Optional.of("O objetivo não foi atingido."), verification.evaluate("", "/home/aluno\n0\n"));
+	}
+
+	@Test
+	void probePathsAreShellQuoted() {
+		var verification = CompiledVerification.compile(List.of(
+				rule(Types.FILE_CONTAINS, "it's", "meu arquivo.txt", "sem conteúdo")));
+
+		String probe = verification.probeScript();
+		assertTrue(probe.contains("[ -f 'meu arquivo.txt' ]"), probe);
+		assertTrue(probe.contains("grep -qF -- 'it'\\''s' 'meu arquivo.txt'"), probe);
+	}
+
+	@Test
+	void rejectsIncompleteOrUnknownRules() {
+		assertThrows(IllegalArgumentException.class,
+				() -> CompiledVerification.compile(List.of(rule(Types.FILE_EXISTS, null, null, null))));
+		assertThrows(IllegalArgumentException.class,
+				() -> CompiledVerification.compile(List.of(rule("fileIsExecutable", null, "a.sh", null))));
+	}
+
+	@Test
+	void runnerSplitsProbeAtLastMarker() {
+		var verification = CompiledVerification.compile(List.of(
+				rule(Types.FILE_EXISTS, null, "a.txt", "sem a.txt")));
+		var runner = new SandboxRunner((script, profile) -> {
+			var matcher = PROBE_MARKER.matcher(script);
+			assertTrue(matcher.find(), script);
+			String marker = matcher.group();
+			// O aluno pode imprimir algo parecido com o marcador; só o último conta.
+			return new ExecutionResult("saida\n__probe_00__\nmais\n" + marker + "\n/home/aluno\n1\n", "", 0);
+		});
+
+		var result = runner.run("ls", List.of(), verification, ResourceProfile.LIGHT);
+
+		assertEquals(0, result.exitCode());
+		assertEquals("saida\n__probe_00__\nmais", result.stdout());
+	}
+
+	@Test
+	void failedProbeAppendsMessageToOutput() {
+		var verification = CompiledVerification.compile(List.of(
+				rule(Types.FILE_EXISTS, null, "a.txt", "sem a.txt")));
+		var runner = new SandboxRunner((script, profile) -> {
+			var matcher = PROBE_MARKER.matcher(script);
+			matcher.find();
+			return new ExecutionResult("saida\n" + matcher.group() + "\n/home/aluno\n0\n", "", 0);
+		});
+
+		var result = runner.run("ls", List.of(), verification, ResourceProfile.LIGHT);
+
+		assertEquals(1, result.exitCode());
+		assertEquals("saida\nsem a.txt\n", result.stdout());
+	}
+
+	private static VerificationRule rule(String type, String value, String path, String message) {
+		return new VerificationRule(type, value, path, message);
+	}
+}
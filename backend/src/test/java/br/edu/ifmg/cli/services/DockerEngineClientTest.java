@@ -0,0 +1,273 @@
+package br.edu.ifmg.cli.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DockerEngineClientTest {
+
+	@TempDir
+	Path tempDir;
+
+	private StubDaemon daemon;
+
+	@AfterEach
+	void stopDaemon() throws IOException {
+		if (daemon != null)
+			daemon.close();
+	}
+
+	@Test
+	void readsContentLengthBody() throws Exception {
+		daemon = StubDaemon.start(tempDir, connection -> {
+			connection.readRequest();
+			connection.send(StubDaemon.ascii("HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\nOK\r\n"));
+		});
+
+		var response = daemon.client().request("GET", "/_ping", null);
+
+		assertEquals(200, response.status());
+		assertEquals("OK\r\n", response.body());
+		assertEquals("GET /v1.41/_ping HTTP/1.1", daemon.requests().get(0));
+	}
+
+	@Test
+	void readsChunkedBody() throws Exception {
+		daemon = StubDaemon.start(tempDir, connection -> {
+			connection.readRequest();
+			connection.send(StubDaemon.ascii("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+					+ "5;ext=1\r\n[{\"Id\r\n"
+					+ "6\r\n\":\"a\"}\r\n"
+					+ "1\r\n]\r\n"
+					+ "0\r\nX-Trailer: 1\r\n\r\n"));
+		});
+
+		var response = daemon.client().request("GET", "/containers/json", null);
+
+		assertEquals("[{\"Id\":\"a\"}]", response.body());
+	}
+
+	@Test
+	void reusesPooledConnection() throws Exception {
+		daemon = StubDaemon.start(tempDir, connection -> {
+			while (connection.readRequest() != null)
+				connection.send(StubDaemon.ascii("HTTP/1.1 204 No Content\r\n\r\n"));
+		});
+		var client = daemon.client();
+
+		client.request("POST", "/containers/a/kill", null);
+		client.request("DELETE", "/containers/a", null);
+		client.request("GET", "/_ping", null);
+
+		assertEquals(1, daemon.connections());
+		assertEquals(3, daemon.requests().size());
+	}
+
+	@Test
+	void doesNotResendPostAfterPooledConnectionFails() throws Exception {
+		daemon = StubDaemon.start(tempDir, connection -> {
+			connection.readRequest();
+			connection.send(StubDaemon.ascii("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n{}"));
+			// Recebe o segundo pedido e cai sem responder.
+			connection.readRequest();
+		});
+		var client = daemon.client();
+		client.request("GET", "/_ping", null);
+
+		assertThrows(IOException.class, () -> client.request("POST", "/containers/a/start", null));
+		assertEquals(1, daemon.connections());
+		assertEquals(2, daemon.requests().size());
+	}
+
+	@Test
+	void retriesGetOnFreshConnection() throws Exception {
+		daemon = StubDaemon.start(tempDir, connection -> {
+			connection.readRequest();
+			connection.send(StubDaemon.ascii("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nOK"));
+			if (connection.index() == 0)
+				connection.readRequest();
+		});
+		var client = daemon.client();
+		client.request("GET", "/_ping", null);
+
+		var response = client.request("GET", "/_ping", null);
+
+		assertEquals("OK", response.body());
+		assertEquals(2, daemon.connections());
+	}
+
+	@Test
+	void timesOutWhenDaemonStalls() throws Exception {
+		daemon = StubDaemon.start(tempDir, connection -> {
+			connection.readRequest();
+			connection.awaitClose();
+		});
+
+		assertThrows(SocketTimeoutException.class, () -> daemon.client()
+				.request("POST", "/containers/create", "application/json", new byte[0], Duration.ofMillis(200)));
+	}
+
+	@Test
+	void demultiplexesAttachFrames() throws Exception {
+		daemon = StubDaemon.start(tempDir, connection -> {
+			connection.readRequest();
+			connection.send(StubDaemon.ascii("HTTP/1.1 101 UPGRADED\r\nConnection: Upgrade\r\nUpgrade: tcp\r\n\r\n"));
+			connection.send(StubDaemon.frame(1, "hello "));
+			connection.send(StubDaemon.frame(2, "oops"));
+			connection.send(StubDaemon.frame(1, "world"));
+			connection.send(StubDaemon.frame(1, "!!! truncated"));
+		});
+
+		try (var attach = daemon.client().attach("abc")) {
+			var output = attach.readUntilExit(12, Duration.ofSeconds(5));
+
+			assertEquals("hello world!", output.stdout());
+			assertEquals("oops", output.stderr());
+		}
+		assertEquals("POST /v1.41/containers/abc/attach?stream=1&stdout=1&stderr=1 HTTP/1.1", daemon.requests().get(0));
+	}
+
+	@FunctionalInterface
+	private interface Handler {
+		void handle(StubConnection connection) throws IOException;
+	}
+
+	private record StubConnection(int index, InputStream in, OutputStream out, List<String> requests) {
+
+		/** Lê um pedido completo e devolve a linha inicial, ou null no fim do stream. */
+		String readRequest() throws IOException {
+			String requestLine = readLine();
+			if (requestLine == null)
+				return null;
+
+			int contentLength = 0;
+			String line;
+			while ((line = readLine()) != null && !line.isEmpty()) {
+				if (line.toLowerCase(Locale.ROOT).startsWith("content-length:"))
+					contentLength = Integer.parseInt(line.substring(line.indexOf(':') + 1).trim());
+			}
+			in.readNBytes(contentLength);
+			requests.add(requestLine);
+			return requestLine;
+		}
+
+		void send(byte[] data) throws IOException {
+			out.write(data);
+			out.flush();
+		}
+
+		void awaitClose() throws IOException {
+			while (in.read() != -1) {
+			}
+		}
+
+		private String readLine() throws IOException {
+			var line = new ByteArrayOutputStream();
+			int current;
+			while ((current = in.read()) != -1 && current != '\n') {
+				if (current != '\r')
+					line.write(current);
+			}
+			if (current == -1 && line.size() == 0)
+				return null;
+			return line.toString(StandardCharsets.US_ASCII);
+		}
+	}
+
+	/** Daemon falso num socket Unix: cada conexão aceita é entregue ao handler. */
+	private static final class StubDaemon implements AutoCloseable {
+		private final Path socket;
+		private final ServerSocketChannel server;
+		private final AtomicInteger connections = new AtomicInteger();
+		private final List<String> requests = new CopyOnWriteArrayList<>();
+
+		private StubDaemon(Path socket, ServerSocketChannel server) {
+			this.socket = socket;
+			this.server = server;
+		}
+
+		static StubDaemon start(Path directory, Handler handler) throws IOException {
+			Path socket = directory.resolve("docker.sock");
+			var server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+			server.bind(UnixDomainSocketAddress.of(socket));
+			var daemon = new StubDaemon(socket, server);
+
+			var acceptor = new Thread(() -> {
+				while (server.isOpen()) {
+					try {
+						SocketChannel channel = server.accept();
+						int index = daemon.connections.getAndIncrement();
+						var worker = new Thread(() -> {
+							try (channel) {
+								handler.handle(new StubConnection(index, Channels.newInputStream(channel),
+										Channels.newOutputStream(channel), daemon.requests));
+							} catch (IOException e) {
+							}
+						});
+						worker.setDaemon(true);
+						worker.start();
+					} catch (IOException e) {
+						return;
+					}
+				}
+			});
+			acceptor.setDaemon(true);
+			acceptor.start();
+			return daemon;
+		}
+
+		DockerEngineClient client() {
+			return new DockerEngineClient(socket);
+		}
+
+		int connections() {
+			return connections.get();
+		}
+
+		List<String> requests() {
+			return requests;
+		}
+
+		static byte[] ascii(String text) {
+			return text.getBytes(StandardCharsets.US_ASCII);
+		}
+
+		static byte[] frame(int stream, String payload) {
+			byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+			byte[] frame = new byte[8 + data.length];
+			frame[0] = (byte) stream;
+			frame[4] = (byte) (data.length >>> 24);
+			frame[5] = (byte) (data.length >>> 16);
+			frame[6] = (byte) (data.length >>> 8);
+			frame[7] = (byte) data.length;
+			System.arraycopy(data, 0, frame, 8, data.length);
+			return frame;
+		}
+
+		@Override
+		public void close() throws IOException {
+			server.close();
+		}
+	}
+}
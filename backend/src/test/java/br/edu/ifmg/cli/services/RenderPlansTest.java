@@ -0,0 +1,35 @@
+package br.edu.ifmg.cli.services;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifmg.cli.models.CliDefinitions;
+import br.edu.ifmg.cli.models.CliDefinitions.ControlDef;
+
+class RenderPlansTest {
+
+	@Test
+	void bundledDefinitionsCompile() {
+		var plans = RenderPlans.load();
+
+		assertTrue(plans.control("if").isPresent());
+		assertTrue(plans.control("while").isPresent());
+	}
+
+	@Test
+	void rejectsControlsSharingAShellCommand() {
+		var definitions = new CliDefinitions(List.of(), List.of(),
+				List.of(control("if_statement", "if"), control("if_short", "if")), List.of());
+
+		var error = assertThrows(IllegalArgumentException.class, () -> RenderPlans.compile(definitions));
+		assertTrue(error.getMessage().contains("if_short"), error.getMessage());
+	}
+
+	private static ControlDef control(String id, String shellCommand) {
+		return new ControlDef(id, shellCommand, id, "", "", "fi", List.of());
+	}
+}
@@ -0,0 +1,135 @@
+package br.edu.ifmg.cli.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import br.edu.ifmg.cli.config.RunHistoryConfig;
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.RunRecord;
+import br.edu.ifmg.cli.models.ast.AstNode;
+import br.edu.ifmg.cli.models.ast.AstVocabulary;
+
+class RunHistoryLogTest {
+
+	private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES;
+	private static final int FRAME_HEADER_BYTES = Integer.BYTES * 2;
+	private static final AstNode AST = new AstNode(AstVocabulary.Nodes.COMMAND, "ls", List.of(), null, null);
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void framesRoundTrip() throws IOException {
+		Path segment = writeRuns(3);
+
+		var records = read(segment);
+
+		assertEquals(3, records.size());
+		assertEquals("echo 0", records.get(0).script());
+		assertEquals("01_ls_basics", records.get(2).levelId());
+		assertEquals("saida 2", records.get(2).stdout());
+		assertEquals(RunHistoryLog.hashAst(AST), records.get(1).astHash());
+	}
+
+	@Test
+	void stopsAtFrameWithWrongCrc() throws IOException {
+		Path segment = writeRuns(3);
+		byte[] bytes = Files.readAllBytes(segment);
+		int secondFrame = HEADER_BYTES + FRAME_HEADER_BYTES + ByteBuffer.wrap(bytes, HEADER_BYTES, 4).getInt();
+		bytes[secondFrame + FRAME_HEADER_BYTES] ^= 0x01;
+		Files.write(segment, bytes);
+
+		assertEquals(1, read(segment).size());
+	}
+
+	@Test
+	void truncatedLastFrameKeepsEarlierRecords() throws IOException {
+		Path segment = writeRuns(3);
+		byte[] bytes = Files.readAllBytes(segment);
+
+		Files.write(segment, Arrays.copyOf(bytes, bytes.length - 3));
+		assertEquals(2, read(segment).size());
+
+		// Queda entre o tamanho e o CRC do primeiro frame.
+		Files.write(segment, Arrays.copyOf(bytes, HEADER_BYTES + Integer.BYTES + 2));
+		assertEquals(0, read(segment).size());
+	}
+
+	@Test
+	void sizeRetentionDropsOldestClosedSegments() throws IOException {
+		Path oldest = closedSegment(1, 1000);
+		Path middle = closedSegment(2, 1000);
+		Path newest = closedSegment(3, 1000);
+
+		new RunHistoryLog(config(2500, 0)).close();
+
+		assertFalse(Files.exists(oldest));
+		assertTrue(Files.exists(middle));
+		assertTrue(Files.exists(newest));
+	}
+
+	@Test
+	void ageRetentionDropsExpiredSegments() throws IOException {
+		Path expired = closedSegment(1, 100);
+		Path recent = closedSegment(2, 100);
+		Files.setLastModifiedTime(expired,
+				FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2)));
+
+		new RunHistoryLog(config(0, TimeUnit.DAYS.toMillis(1))).close();
+
+		assertFalse(Files.exists(expired));
+		assertTrue(Files.exists(recent));
+	}
+
+	@Test
+	void newSegmentsContinueNumbering() throws IOException {
+		closedSegment(7, 100);
+
+		try (var log = new RunHistoryLog(config(0, 0))) {
+			log.append(null, AST, "ls", new ExecutionResult("", "", 0), 10, 20);
+		}
+
+		var segments = RunHistoryLog.listSegments(tempDir);
+		assertEquals(2, segments.size());
+		assertEquals("segment-00000008.runlog", segments.get(1).getFileName().toString());
+	}
+
+	private Path writeRuns(int count) throws IOException {
+		try (var log = new RunHistoryLog(config(0, 0))) {
+			for (int i = 0; i < count; i++)
+				log.append("01_ls_basics", AST, "echo " + i, new ExecutionResult("saida " + i, "", 0), 10, 20);
+		}
+		var segments = RunHistoryLog.listSegments(tempDir);
+		assertEquals(1, segments.size());
+		return segments.get(0);
+	}
+
+	private Path closedSegment(int number, int size) throws IOException {
+		Path segment = tempDir.resolve(String.format("segment-%08d%s", number, RunHistoryLog.SEGMENT_EXTENSION));
+		return Files.write(segment, new byte[size]);
+	}
+
+	private RunHistoryConfig config(long maxBytes, long maxAgeMillis) {
+		return new RunHistoryConfig(true, tempDir.toString(), 1024 * 1024, 100, maxBytes, maxAgeMillis);
+	}
+
+	private static List<RunRecord> read(Path segment) throws IOException {
+		var records = new ArrayList<RunRecord>();
+		RunHistoryLog.readSegment(segment, records::add);
+		return records;
+	}
+}
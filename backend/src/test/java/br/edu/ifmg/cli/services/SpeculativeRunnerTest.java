@@ -0,0 +1,140 @@
+package br.edu.ifmg.cli.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ifmg.cli.config.AdaptiveTimeoutConfig;
+import br.edu.ifmg.cli.config.SpeculationConfig;
+import br.edu.ifmg.cli.models.ExecutionResult;
+import br.edu.ifmg.cli.models.ResourceProfile;
+import br.edu.ifmg.cli.models.ResourceUsage;
+
+class SpeculativeRunnerTest {
+
+	private static final String SESSION = "session-0001";
+	private static final String LEVEL = "01_ls_basics";
+	private static final LevelService LEVELS = new LevelService();
+
+	@Test
+	void claimReturnsResultForSameScriptAndLevel() {
+		var executor = new FakeExecutor(script -> new ExecutionResult("ok\n", "", 0));
+		var speculation = runner(executor, disabledTimeouts());
+
+		speculation.speculate(SESSION, LevelService.SANDBOX_LEVEL_ID, "echo ok");
+		var claimed = speculation.claim(SESSION, null, "echo ok", LEVELS.getDefaultProfile());
+
+		assertTrue(claimed.isPresent());
+		assertTrue(claimed.get().result().stdout().contains("ok"));
+		assertEquals(1, executor.scripts.size());
+	}
+
+	@Test
+	void claimIgnoresDifferentScriptOrLevel() {
+		var executor = new FakeExecutor(script -> new ExecutionResult("", "", 0));
+		var speculation = runner(executor, disabledTimeouts());
+
+		speculation.speculate(SESSION, null, "echo a");
+		assertTrue(speculation.claim(SESSION, null, "echo b", LEVELS.getDefaultProfile()).isEmpty());
+
+		speculation.speculate(SESSION, null, "echo a");
+		assertTrue(speculation.claim(SESSION, LEVEL, "echo a", LEVELS.getResourceProfile(LEVEL)).isEmpty());
+	}
+
+	@Test
+	void newScriptCancelsPreviousSpeculation() throws Exception {
+		var interrupted = new CountDownLatch(1);
+		var executor = new FakeExecutor(script -> {
+			if (!script.contains("sleep"))
+				return new ExecutionResult("b", "", 0);
+			try {
+				Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+				Thread.currentThread().interrupt();
+			}
+			throw new CancellationException("interrompida");
+		});
+		var speculation = runner(executor, disabledTimeouts());
+
+		speculation.speculate(SESSION, null, "sleep 30");
+		awaitScripts(executor, 1);
+		speculation.speculate(SESSION, null, "echo b");
+
+		assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		assertTrue(speculation.claim(SESSION, null, "sleep 30", LEVELS.getDefaultProfile()).isEmpty());
+		assertTrue(speculation.claim(SESSION, null, "echo b", LEVELS.getDefaultProfile()).isPresent());
+	}
+
+	@Test
+	void returnedCapacityDiscardsSpeculation() {
+		var executor = new FakeExecutor(script -> {
+			throw new CancellationException("Capacidade devolvida a uma execução real");
+		});
+		var speculation = runner(executor, disabledTimeouts());
+
+		speculation.speculate(SESSION, null, "echo a");
+
+		assertTrue(speculation.claim(SESSION, null, "echo a", LEVELS.getDefaultProfile()).isEmpty());
+	}
+
+	@Test
+	void changedDeadlineDiscardsSpeculation() {
+		var timeouts = new AdaptiveTimeouts(new AdaptiveTimeoutConfig(true, 1000, 0, 99, 3, 5));
+		var executor = new FakeExecutor(script -> new ExecutionResult("", "", 0));
+		var speculation = runner(executor, timeouts);
+
+		speculation.speculate(SESSION, LEVEL, "ls");
+		awaitScripts(executor, 1);
+		for (int i = 0; i < 5; i++)
+			timeouts.record(LEVEL, new ExecutionResult("", "", 0, new ResourceUsage(null, null, 100, 100L)));
+		ResourceProfile current = timeouts.apply(LEVEL, LEVELS.getResourceProfile(LEVEL));
+
+		assertTrue(speculation.claim(SESSION, LEVEL, "ls", current).isEmpty());
+	}
+
+	private static SpeculativeRunner runner(FakeExecutor executor, AdaptiveTimeouts timeouts) {
+		return new SpeculativeRunner(new SpeculationConfig(true, 1), new SandboxRunner(executor), LEVELS, timeouts);
+	}
+
+	private static AdaptiveTimeouts disabledTimeouts() {
+		return new AdaptiveTimeouts(new AdaptiveTimeoutConfig(false, 0, 0, 99, 3, 1));
+	}
+
+	private static void awaitScripts(FakeExecutor executor, int count) {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (executor.scripts.size() < count && System.nanoTime() < deadline)
+			Thread.onSpinWait();
+	}
+
+	/** Executor que só oferece capacidade ociosa, respondendo com {@code behavior}. */
+	private static final class FakeExecutor implements ContainerExecutor {
+		private final Function<String, ExecutionResult> behavior;
+		private final List<String> scripts = new CopyOnWriteArrayList<>();
+
+		private FakeExecutor(Function<String, ExecutionResult> behavior) {
+			this.behavior = behavior;
+		}
+
+		@Override
+		public ExecutionResult execute(String fullScript, ResourceProfile profile) {
+			throw new AssertionError("especulação não deve usar a capacidade normal");
+		}
+
+		@Override
+		public ContainerExecutor spareCapacity() {
+			return (fullScript, profile) -> {
+				scripts.add(fullScript);
+				return behavior.apply(fullScript);
+			};
+		}
+	}
+}
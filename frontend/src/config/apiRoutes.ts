@@ -2,5 +2,6 @@ export const ApiRoutes = {
     DEFINITIONS: "definitions",
     GAME_DATA: "game-data",
     GENERATE_SCRIPT: "generate",
+    AST_SESSIONS: "sessions",
     RUN_SCRIPT: "run",
 } as const;
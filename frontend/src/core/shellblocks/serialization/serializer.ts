@@ -3,12 +3,7 @@ import type * as AST from "../types/ast";
 import { getBlockSemanticData } from "./metadataManager";
 import { findScriptRoot } from "../blocks/systemBlocks";
 import * as BlockTraversal from "../helpers/blockTraversal";
-import {
-    SemanticData,
-    Binding,
-    SemanticControlDefinition,
-    SemanticOperatorDefinition,
-} from "../types/semanticData";
+import { SemanticData, Binding } from "../types/semanticData";
 
 export function serializeWorkspaceToAST(
     workspace: Blockly.WorkspaceSvg,
@@ -25,12 +20,13 @@ function serializeNode(block: Blockly.Block): AST.ASTNode {
     if (!semanticMetadata) {
         throw new Error(`Bloco ${block.type} sem metadados semânticos.`);
     }
-    const node = createBaseNode(block, semanticMetadata);
-    return enrichNodeWithMetadata(node, semanticMetadata);
+    return createBaseNode(block, semanticMetadata);
 }
 
 /**
- * Cria a estrutura fundamental do nó: tipo, nome e parâmetros.
+ * Cria a estrutura fundamental do nó: tipo, nome e parâmetros. Controles e
+ * operadores não levam configuração: o backend resolve a sintaxe pelo nome a
+ * partir das definições da CLI.
  */
 function createBaseNode(
     block: Blockly.Block,
@@ -82,68 +78,3 @@ function serializeInputChain(
     }
     return BlockTraversal.getBlocksList(targetBlock).map(serializeNode);
 }
-
-/**
- * Adiciona metadados de controle ou operador caso o nó os exija.
- */
-function enrichNodeWithMetadata(
-    node: AST.ASTNode,
-    data: SemanticData,
-): AST.ASTNode {
-    if (data.nodeType === "control" && data.definition?.control) {
-        node.controlConfig = mapControlConfiguration(
-            data.definition.control,
-            data.bindings,
-        );
-    } else if (data.nodeType === "operator" && data.definition?.operator) {
-        node.operatorConfig = mapOperatorConfiguration(
-            data.definition.operator,
-            data.bindings,
-        );
-    }
-    return node;
-}
-
-/**
- * Converte a definição semântica de controle para a configuração da AST.
- */
-function mapControlConfiguration(
-    controlDefinition: SemanticControlDefinition,
-    bindingsGuide: Binding[],
-): AST.ASTControlConfig {
-    return {
-        syntaxEnd: controlDefinition.syntaxEnd,
-        slots: controlDefinition.slots.map((slot) => ({
-            key: findKeyForTechnicalName(slot.name, bindingsGuide),
-            syntaxPrefix: slot.syntaxPrefix,
-            obligatory: slot.obligatory,
-            breakLineBefore: slot.breakLineBefore,
-        })),
-    };
-}
-
-/**
- * Converte a definição semântica de operador para a configuração da AST.
- */
-function mapOperatorConfiguration(
-    operatorDefinition: SemanticOperatorDefinition,
-    bindingsGuide: Binding[],
-): AST.ASTOperatorConfig {
-    return {
-        slots: operatorDefinition.slots.map((slot) => ({
-            key: findKeyForTechnicalName(slot.name, bindingsGuide),
-            symbol: slot.symbol,
-            symbolPlacement: slot.symbolPlacement,
-        })),
-    };
-}
-
-function findKeyForTechnicalName(
-    technicalName: string,
-    bindingsGuide: Binding[],
-): string {
-    const binding = bindingsGuide.find(
-        (binding) => binding.name === technicalName,
-    );
-    return binding ? binding.key : technicalName;
-}
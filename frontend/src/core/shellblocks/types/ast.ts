@@ -28,7 +28,9 @@ export interface ASTNode {
     type: SemanticData["nodeType"];
     name: string;
     parameters: ASTParameter[];
+    /** Legado: o backend resolve a sintaxe pelo nome a partir das definições. */
     controlConfig?: ASTControlConfig;
+    /** Legado: o backend resolve a sintaxe pelo nome a partir das definições. */
     operatorConfig?: ASTOperatorConfig;
 }
 
@@ -0,0 +1,118 @@
+import * as ShellBlocks from "shellblocks";
+import * as API from "@/types/api";
+
+type ASTNode = ShellBlocks.AST.ASTNode;
+
+/**
+ * Calcula os patches (insert/remove/replace por caminho) que levam a AST
+ * anterior à nova. Quando uma lista de filhos muda de forma complexa, o nó
+ * que a contém é substituído inteiro.
+ */
+export function diffAst(previous: ASTNode, next: ASTNode): API.AstPatch[] {
+    const patches: API.AstPatch[] = [];
+    diffNode(previous, next, [], patches);
+    return patches;
+}
+
+function diffNode(
+    previous: ASTNode,
+    next: ASTNode,
+    path: API.AstPathSegment[],
+    patches: API.AstPatch[],
+): void {
+    if (nodesEqual(previous, next)) return;
+
+    if (!sameShape(previous, next)) {
+        patches.push({ op: "replace", path, node: next });
+        return;
+    }
+
+    const pendingChildDiffs: (() => void)[] = [];
+
+    for (let p = 0; p < next.parameters.length; p++) {
+        const key = next.parameters[p].key;
+        const before = previous.parameters[p].children;
+        const after = next.parameters[p].children;
+
+        if (before.length === after.length) {
+            for (let i = 0; i < after.length; i++) {
+                const childPath = [...path, { key, index: i }];
+                pendingChildDiffs.push(() =>
+                    diffNode(before[i], after[i], childPath, patches),
+                );
+            }
+            continue;
+        }
+
+        const single = singleInsertOrRemove(before, after);
+        if (!single) {
+            patches.push({ op: "replace", path, node: next });
+            return;
+        }
+
+        const childPath = [...path, { key, index: single.index }];
+        pendingChildDiffs.push(() =>
+            patches.push(
+                single.op === "insert"
+                    ? { op: "insert", path: childPath, node: after[single.index] }
+                    : { op: "remove", path: childPath },
+            ),
+        );
+    }
+
+    pendingChildDiffs.forEach((diff) => diff());
+}
+
+function singleInsertOrRemove(
+    before: ASTNode[],
+    after: ASTNode[],
+): { op: "insert" | "remove"; index: number } | null {
+    if (Math.abs(before.length - after.length) !== 1) return null;
+
+    const longer = after.length > before.length ? after : before;
+    const shorter = longer === after ? before : after;
+
+    let index = 0;
+    while (index < shorter.length && nodesEqual(shorter[index], longer[index]))
+        index++;
+
+    for (let i = index; i < shorter.length; i++) {
+        if (!nodesEqual(shorter[i], longer[i + 1])) return null;
+    }
+
+    return { op: longer === after ? "insert" : "remove", index };
+}
+
+function sameShape(previous: ASTNode, next: ASTNode): boolean {
+    if (previous.type !== next.type || previous.name !== next.name)
+        return false;
+    if (previous.parameters.length !== next.parameters.length) return false;
+    if (
+        JSON.stringify(previous.controlConfig) !==
+            JSON.stringify(next.controlConfig) ||
+        JSON.stringify(previous.operatorConfig) !==
+            JSON.stringify(next.operatorConfig)
+    )
+        return false;
+
+    return previous.parameters.every(
+        (parameter, i) =>
+            parameter.key === next.parameters[i].key &&
+            parameter.value === next.parameters[i].value,
+    );
+}
+
+function nodesEqual(previous: ASTNode, next: ASTNode): boolean {
+    if (previous === next) return true;
+    if (!sameShape(previous, next)) return false;
+
+    return previous.parameters.every((parameter, p) => {
+        const nextChildren = next.parameters[p].children;
+        return (
+            parameter.children.length === nextChildren.length &&
+            parameter.children.every((child, i) =>
+                nodesEqual(child, nextChildren[i]),
+            )
+        );
+    });
+}
@@ -5,12 +5,23 @@ import * as Logger from "../ui/systemLogger";
 import { AppConfig } from "@/config/appConfig";
 import { ApiRoutes } from "@/config/apiRoutes";
 import { executeWithTimeout } from "@/core/utils/async";
+import { diffAst } from "./astDiff";
+import { getCurrentLevelId } from "../session/levelLoader";
 
 const MIN_INTERVAL_MS = 700;
+const HTTP_CONFLICT = 409;
 
 let lastStartTime = 0;
 let pendingTimer: number | null = null;
 
+const sessionId = crypto.randomUUID();
+let syncedAst: ShellBlocks.AST.AST | null = null;
+let syncedVersion = 0;
+
+export function getAstSessionId(): string {
+    return sessionId;
+}
+
 export function setupScriptHotReloader(
     workspace: Blockly.WorkspaceSvg,
     codeOutput: HTMLPreElement,
@@ -57,21 +68,16 @@ async function sendAstToBackend(
     }
 
     try {
-        const response = await executeWithTimeout(
-            AppConfig.API_REQUEST_TIMEOUT_MS,
-            (signal) =>
-                fetch(
-                    `${AppConfig.API_BASE_URL}/${ApiRoutes.GENERATE_SCRIPT}`,
-                    {
-                        method: "POST",
-                        headers: { "Content-Type": "application/json" },
-                        body: JSON.stringify(ast),
-                        signal: signal,
-                    },
-                ),
-        );
+        let response = syncedAst
+            ? await postPatches(diffAst(syncedAst, ast))
+            : await postFullAst(ast);
+
+        if (response.status === HTTP_CONFLICT) {
+            response = await postFullAst(ast);
+        }
 
         if (!response.ok) {
+            syncedAst = null;
             codeOutput.textContent = "// Erro ao gerar script no backend";
             Logger.log(
                 "Erro ao gerar script no backend",
@@ -80,10 +86,39 @@ async function sendAstToBackend(
             return;
         }
 
-        const data: API.GeneratedScript = await response.json();
+        const data: API.SessionScript = await response.json();
+        syncedAst = ast;
+        syncedVersion = data.version;
         codeOutput.textContent = data.script;
     } catch {
+        syncedAst = null;
         codeOutput.textContent = "// Falha ao conectar ao backend";
         Logger.log("Falha ao conectar no backend", ShellBlocks.LogLevel.ERROR);
     }
 }
+
+function postFullAst(ast: ShellBlocks.AST.AST): Promise<Response> {
+    return postToSession("ast", ast);
+}
+
+function postPatches(patches: API.AstPatch[]): Promise<Response> {
+    const payload: API.AstPatchRequest = {
+        baseVersion: syncedVersion,
+        patches,
+    };
+    return postToSession("ast/patches", payload);
+}
+
+function postToSession(resource: string, body: unknown): Promise<Response> {
+    return executeWithTimeout(AppConfig.API_REQUEST_TIMEOUT_MS, (signal) =>
+        fetch(
+            `${AppConfig.API_BASE_URL}/${ApiRoutes.AST_SESSIONS}/${sessionId}/${resource}?level=${encodeURIComponent(getCurrentLevelId())}`,
+            {
+                method: "POST",
+                headers: { "Content-Type": "application/json" },
+                body: JSON.stringify(body),
+                signal: signal,
+            },
+        ),
+    );
+}
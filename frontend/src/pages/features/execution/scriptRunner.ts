@@ -6,6 +6,10 @@ import { ApiRoutes } from "@/config/apiRoutes";
 import * as Logger from "../ui/systemLogger";
 import * as Blockly from "blockly";
 import { getCachedLevelData, SANDBOX_LEVEL_ID } from "../session/levelLoader";
+import { getAstSessionId } from "./scriptHotReloader";
+
+const HTTP_PAYLOAD_TOO_LARGE = 413;
+const HTTP_UNPROCESSABLE_CONTENT = 422;
 
 interface RunDependencies {
     cliOutput: HTMLPreElement;
@@ -54,6 +58,7 @@ export async function runScript(
         const payload: API.RunRequest = {
             ast,
             level: getCachedLevelData(currentLevelId) || null,
+            sessionId: getAstSessionId(),
         };
         const result = await requestExecution(payload);
         renderExecutionOutput(
@@ -119,6 +124,14 @@ async function requestExecution(
             }),
     );
 
+    // Scripts acima dos limites de AST voltam com a mensagem no stderr.
+    if (
+        response.status === HTTP_PAYLOAD_TOO_LARGE ||
+        response.status === HTTP_UNPROCESSABLE_CONTENT
+    ) {
+        return response.json();
+    }
+
     if (!response.ok) {
         throw new Error(`HTTP ${response.status}`);
     }
@@ -4,10 +4,39 @@ export interface GeneratedScript {
     script: string;
 }
 
+export interface SessionScript {
+    script: string;
+    version: number;
+}
+
+export interface AstPathSegment {
+    key: string;
+    index: number;
+}
+
+export interface AstPatch {
+    op: "insert" | "remove" | "replace";
+    path: AstPathSegment[];
+    node?: ShellBlocks.AST.ASTNode;
+}
+
+export interface AstPatchRequest {
+    baseVersion: number;
+    patches: AstPatch[];
+}
+
+export interface ResourceUsage {
+    cpuTimeMicros?: number;
+    peakMemoryBytes?: number;
+    wallTimeMillis: number;
+    scriptTimeMillis?: number;
+}
+
 export interface ExecutionResult {
     stdout: string;
     stderr: string;
     exitCode: number;
+    usage?: ResourceUsage;
 }
 
 export type LevelDifficulty = "tutorial" | "training" | "challenge";
@@ -28,4 +57,5 @@ export interface GameData {
 export interface RunRequest {
     ast: ShellBlocks.AST.AST | null;
     level: Level | null;
+    sessionId?: string;
 }
@@ -1,12 +1,56 @@
-import { defineConfig, loadEnv } from "vite";
+import { defineConfig, loadEnv, Plugin } from "vite";
 import tsconfigPaths from "vite-tsconfig-paths";
 import path from "path";
+import fs from "fs";
+import zlib from "zlib";
+
+const COMPRESSIBLE_EXTENSIONS = /\.(html|js|css|svg|json|txt|xml|webmanifest)$/;
+const MIN_COMPRESS_BYTES = 1024;
+
+/**
+ * Grava variantes .gz e .br ao lado de cada arquivo compressível do build,
+ * com compressão máxima. O backend as carrega na inicialização e as serve
+ * conforme o Accept-Encoding, sem comprimir nada por requisição.
+ */
+function precompressAssets(outDir: string): Plugin {
+    return {
+        name: "precompress-assets",
+        apply: "build",
+        closeBundle() {
+            for (const file of listFiles(outDir)) {
+                if (!COMPRESSIBLE_EXTENSIONS.test(file)) continue;
+
+                const content = fs.readFileSync(file);
+                if (content.length < MIN_COMPRESS_BYTES) continue;
+
+                fs.writeFileSync(`${file}.gz`, zlib.gzipSync(content, { level: 9 }));
+                fs.writeFileSync(
+                    `${file}.br`,
+                    zlib.brotliCompressSync(content, {
+                        params: {
+                            [zlib.constants.BROTLI_PARAM_QUALITY]: zlib.constants.BROTLI_MAX_QUALITY,
+                            [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+                        },
+                    }),
+                );
+            }
+        },
+    };
+}
+
+function listFiles(directory: string): string[] {
+    return fs.readdirSync(directory, { withFileTypes: true }).flatMap((entry) => {
+        const fullPath = path.join(directory, entry.name);
+        return entry.isDirectory() ? listFiles(fullPath) : [fullPath];
+    });
+}
 
 export default defineConfig(({ mode }) => {
     const env = loadEnv(mode, process.cwd(), "");
+    const outDir = path.resolve(__dirname, "dist");
 
     return {
-        plugins: [tsconfigPaths()],
+        plugins: [tsconfigPaths(), precompressAssets(outDir)],
         root: "src/pages",
         envDir: path.resolve(__dirname),
         publicDir: path.resolve(__dirname, "public"),
@@ -24,7 +68,7 @@ export default defineConfig(({ mode }) => {
         },
 
         build: {
-            outDir: path.resolve(__dirname, "dist"),
+            outDir,
             emptyOutDir: true,
             chunkSizeWarningLimit: 1000,
             rollupOptions: {